@@ -0,0 +1,57 @@
+package com.koreanromanizer;
+
+/**
+ * A bounded pool of canonical romanizations, so that equal short results share one instance.
+ *
+ * Dictionary romanizations are already shared instances; the pool extends that to results
+ * built by the romanization rules, which is worthwhile when many results are retained, for
+ * example in in-memory caches of romanized records. The pool is a fixed array of slots
+ * indexed by hash: a result replaces whatever occupied its slot, so memory stays bounded
+ * and lookups never lock. Concurrent callers may briefly keep two equal instances.
+ *
+ * <pre>
+ * CanonicalPool pool = new CanonicalPool(4096, 16);
+ * String romanized = RomanizationMethod.FULL_NAME.apply("김민준", pool);
+ * </pre>
+ */
+public final class CanonicalPool {
+    private final String[] slots;
+    private final int maxLength;
+
+    /**
+     * Creates a pool.
+     *
+     * @param capacity The number of slots, rounded up to a power of two
+     * @param maxLength The longest result that is pooled; longer results are returned as is
+     */
+    public CanonicalPool(int capacity, int maxLength) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Maximum length must not be negative: " + maxLength);
+        }
+        this.slots = new String[Integer.highestOneBit(capacity * 2 - 1)];
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Gets the pooled instance equal to a string, pooling the string if there is none.
+     *
+     * @param value The string, may be null
+     * @return An equal pooled instance, or the string itself
+     */
+    public String canonicalize(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int h = value.hashCode();
+        int slot = (h ^ (h >>> 16)) & (slots.length - 1);
+        String pooled = slots[slot];
+        if (pooled != null && pooled.equals(value)) {
+            return pooled;
+        }
+        slots[slot] = value;
+        return value;
+    }
+}
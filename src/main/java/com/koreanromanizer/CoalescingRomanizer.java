@@ -0,0 +1,160 @@
+package com.koreanromanizer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent single-item romanization calls into batches.
+ * Calls from many threads are queued; a dedicated worker thread collects them for up to
+ * the coalescing window or until a batch is full, romanizes each distinct text of the
+ * batch once with a shared scratch buffer, and completes the futures. A call waits at most
+ * the window plus the time to romanize one batch.
+ *
+ * <pre>
+ * CoalescingRomanizer romanizer = new CoalescingRomanizer(RomanizationMethod.FULL_NAME, Duration.ofMillis(2), 256);
+ * romanizer.romanizeAsync("김민준").thenAccept(System.out::println);
+ * </pre>
+ */
+public final class CoalescingRomanizer implements AutoCloseable {
+    private static final Request SHUTDOWN = new Request(null);
+
+    private final RomanizationMethod method;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    /**
+     * Creates a coalescing romanizer and starts its worker thread.
+     *
+     * @param method The romanization method
+     * @param window How long to collect calls after the first call of a batch
+     * @param maxBatchSize The number of calls that completes a batch before the window ends
+     */
+    public CoalescingRomanizer(RomanizationMethod method, Duration window, int maxBatchSize) {
+        this.method = Objects.requireNonNull(method, "method");
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative: " + window);
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.worker = new Thread(this::run, "korean-romanizer-coalescer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Romanizes a text in the next batch.
+     *
+     * @param text The Korean text
+     * @return A future completed with the romanized text, or exceptionally if romanization fails
+     * @throws RejectedExecutionException if the romanizer is closed
+     */
+    public CompletableFuture<String> romanizeAsync(String text) {
+        if (closed) {
+            throw new RejectedExecutionException("Romanizer is closed");
+        }
+        Request request = new Request(text);
+        queue.add(request);
+        if (closed && queue.remove(request)) {
+            // Closed concurrently, and the worker may already have drained the queue
+            throw new RejectedExecutionException("Romanizer is closed");
+        }
+        return request.result;
+    }
+
+    /**
+     * Stops accepting calls, finishes the queued ones and stops the worker thread.
+     * If the calling thread is interrupted while waiting for the worker, close returns early
+     * with the interrupt flag set; the worker still finishes the queued calls.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            queue.add(SHUTDOWN);
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        Map<String, String> romanized = new HashMap<>();
+        StringBuilder scratch = new StringBuilder(64);
+        boolean running = true;
+        while (running) {
+            try {
+                Request first = queue.take();
+                if (first == SHUTDOWN) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    Request next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == SHUTDOWN) {
+                        running = false;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+
+            for (Request request : batch) {
+                try {
+                    String result = romanized.get(request.text);
+                    if (result == null) {
+                        result = method.romanize(request.text, scratch);
+                        romanized.put(request.text, result);
+                    }
+                    request.result.complete(result);
+                } catch (RuntimeException e) {
+                    request.result.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+            romanized.clear();
+        }
+
+        // Calls queued after shutdown, or left by an interrupt, are not romanized
+        for (Request request = queue.poll(); request != null; request = queue.poll()) {
+            if (request != SHUTDOWN) {
+                request.result.completeExceptionally(new RejectedExecutionException("Romanizer is closed"));
+            }
+        }
+    }
+
+    /**
+     * A queued call and its future.
+     */
+    private static final class Request {
+        final String text;
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        Request(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.koreanromanizer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Romanizes a column of values stored back to back in one array, writing the results back to
+ * back into one byte arena. Row i of the input spans [offsets[i], offsets[i + 1]) of the input
+ * array, and row i of the output spans [getOffsets()[i], getOffsets()[i + 1]) of
+ * {@link #getBytes()}.
+ *
+ * The output is UTF-8, which is plain ASCII for romanized Hangul; characters that are not
+ * romanized are copied through. Rows are read through views of the input, romanized into
+ * reused buffers and encoded straight into the arena, so no per-row strings or syllables are
+ * built; only a row that hashes like a dictionary name becomes a string, to look it up. The
+ * arena and output offsets are reused by the next call, so repeated batches allocate nothing
+ * once the buffers have grown to fit. Instances are not thread-safe.
+ *
+ * <pre>
+ * ColumnarRomanizer romanizer = new ColumnarRomanizer(RomanizationMethod.FULL_NAME);
+ * romanizer.romanize(chars, offsets, rows);
+ * out.write(romanizer.getBytes(), 0, romanizer.getOffsets()[rows]);
+ * </pre>
+ */
+public final class ColumnarRomanizer {
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private final RomanizationMethod method;
+    // The normalized row, its pronunciation and its romanization
+    private final StringBuilder normalized = new StringBuilder(64);
+    private final StringBuilder source = new StringBuilder(64);
+    private final StringBuilder scratch = new StringBuilder(64);
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private char[] composed = new char[64];
+    private CharBuffer decoded = CharBuffer.allocate(64);
+    private byte[] bytes;
+    private int[] offsets = new int[1];
+    private int rows;
+
+    /**
+     * Creates a columnar romanizer.
+     *
+     * @param method The romanization method
+     */
+    public ColumnarRomanizer(RomanizationMethod method) {
+        this(method, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a columnar romanizer with an initial arena size.
+     *
+     * @param method The romanization method
+     * @param capacity The initial arena size in bytes; the arena grows as needed
+     */
+    public ColumnarRomanizer(RomanizationMethod method, int capacity) {
+        this.method = Objects.requireNonNull(method, "method");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.bytes = new byte[capacity];
+    }
+
+    /**
+     * Romanizes a column of UTF-16 values.
+     *
+     * @param chars The values, back to back
+     * @param offsets The start of each row, followed by the end of the last row (rows + 1 entries)
+     * @param rows The number of rows
+     * @return The number of bytes written to the arena
+     * @throws IllegalArgumentException if the offsets are decreasing or outside the input
+     */
+    public int romanize(char[] chars, int[] offsets, int rows) {
+        checkOffsets(offsets, rows, chars.length);
+        begin(rows);
+        CharBuffer view = CharBuffer.wrap(chars);
+        for (int row = 0; row < rows; row++) {
+            view.limit(offsets[row + 1]).position(offsets[row]);
+            append(view, row);
+        }
+        return this.offsets[rows];
+    }
+
+    /**
+     * Romanizes a column of UTF-8 values.
+     *
+     * @param utf8 The values, back to back
+     * @param offsets The start of each row, followed by the end of the last row (rows + 1 entries)
+     * @param rows The number of rows
+     * @return The number of bytes written to the arena
+     * @throws IllegalArgumentException if the offsets are decreasing or outside the input
+     */
+    public int romanizeUtf8(byte[] utf8, int[] offsets, int rows) {
+        checkOffsets(offsets, rows, utf8.length);
+        begin(rows);
+        ByteBuffer view = ByteBuffer.wrap(utf8);
+        for (int row = 0; row < rows; row++) {
+            view.limit(offsets[row + 1]).position(offsets[row]);
+            // A row never decodes to more chars than it has bytes
+            if (decoded.capacity() < view.remaining()) {
+                decoded = CharBuffer.allocate(Math.max(view.remaining(), decoded.capacity() * 2));
+            }
+            decoded.clear();
+            decoder.reset();
+            decoder.decode(view, decoded, true);
+            decoder.flush(decoded);
+            decoded.flip();
+            append(decoded, row);
+        }
+        return this.offsets[rows];
+    }
+
+    private static void checkOffsets(int[] offsets, int rows, int length) {
+        if (rows < 0 || offsets.length <= rows) {
+            throw new IllegalArgumentException("Offsets must have rows + 1 entries for " + rows + " rows: " + offsets.length);
+        }
+        if (rows > 0 && (offsets[0] < 0 || offsets[rows] > length)) {
+            throw new IllegalArgumentException("Offsets must be within the input of length " + length);
+        }
+        for (int row = 0; row < rows; row++) {
+            if (offsets[row + 1] < offsets[row]) {
+                throw new IllegalArgumentException("Offsets must not decrease: row " + row);
+            }
+        }
+    }
+
+    private void begin(int rows) {
+        if (offsets.length <= rows) {
+            offsets = new int[rows + 1];
+        }
+        offsets[0] = 0;
+        this.rows = rows;
+    }
+
+    /**
+     * Romanizes one row and encodes the result at the end of the arena.
+     */
+    private void append(CharSequence text, int row) {
+        if (Syllable.needsNormalization(text)) {
+            if (composed.length < text.length()) {
+                composed = new char[Math.max(text.length(), composed.length * 2)];
+            }
+            normalized.setLength(0);
+            normalized.append(composed, 0, Syllable.normalize(text, composed, 0));
+            text = normalized;
+        }
+        scratch.setLength(0);
+        method.romanize(text, source, scratch);
+        StringBuilder result = scratch;
+        int position = offsets[row];
+        // Three bytes per char covers any UTF-8 encoding, surrogate pairs included
+        ensureCapacity(position + result.length() * 3);
+        byte[] bytes = this.bytes;
+        int length = result.length();
+        for (int i = 0; i < length; i++) {
+            char c = result.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | c >> 6);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(result.charAt(i + 1))) {
+                int code = Character.toCodePoint(c, result.charAt(++i));
+                bytes[position++] = (byte) (0xF0 | code >> 18);
+                bytes[position++] = (byte) (0x80 | code >> 12 & 0x3F);
+                bytes[position++] = (byte) (0x80 | code >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | code & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates encode as '?', as String.getBytes does
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | c >> 12);
+                bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        offsets[row + 1] = position;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+
+    /**
+     * Gets the output arena of the last call. The array is not copied and may be longer than
+     * the output; it is overwritten by the next call.
+     *
+     * @return The romanized rows, back to back in UTF-8
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the output offsets of the last call: the start of each row in the arena, followed by
+     * the end of the last row. The array is not copied and may have more than size() + 1 entries.
+     *
+     * @return The output offsets
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the number of rows of the last call.
+     *
+     * @return The number of rows
+     */
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Decodes one output row, for callers that do need a string.
+     *
+     * @param row The row
+     * @return The romanized row
+     */
+    public String get(int row) {
+        Objects.checkIndex(row, rows);
+        return new String(bytes, offsets[row], offsets[row + 1] - offsets[row], StandardCharsets.UTF_8);
+    }
+}
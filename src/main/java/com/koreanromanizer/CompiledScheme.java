@@ -0,0 +1,273 @@
+package com.koreanromanizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link RomanizationScheme} compiled into dense lookup tables.
+ * Every jamo is looked up by its index and a small context index, so the romanization loop
+ * contains no per-character dispatch on the scheme.
+ *
+ * Contexts that romanize every jamo alike are merged into classes when the scheme is compiled.
+ * Each syllable is then romanized by a single precomputed fragment, chosen by the class of the
+ * preceding final and the class of the following syllable's onset; fragments are built on
+ * first use and shared from then on.
+ */
+final class CompiledScheme {
+    static final int INITIALS = 19;
+    static final int MEDIALS = 21;
+    static final int FINALS = 28;
+
+    // Previous character contexts: text start, after a non-syllable, then one per final index
+    static final int PREVIOUS_CONTEXTS = FINALS + 2;
+
+    private static final int SYLLABLES = INITIALS * MEDIALS * FINALS;
+    private static final int ONSETS = INITIALS * MEDIALS;
+
+    private static final char FIRST_SYLLABLE = 0xAC00;
+    private static final char FIRST_JAMO = 0x3131;
+    private static final char LAST_JAMO = 0x3163;
+
+    private static final Map<RomanizationScheme, CompiledScheme> CACHE = new ConcurrentHashMap<>();
+
+    private final RomanizationScheme scheme;
+    // Indexed by ((previousFinal + 2) * 2 + beforeSyllable) * ONSETS + onset, the onset being initial * MEDIALS + medial
+    private final String[] initials;
+    // Indexed by (nextMedial + 1) * ONSETS + onset
+    private final String[] medials;
+    // Indexed by (nextInitial + 1) * FINALS + final
+    private final String[] finals;
+    // Indexed by jamo - FIRST_JAMO
+    private final String[] jamo;
+    // Previous class by previous context + 2, and a representative context of each class
+    private final int[] previousClasses;
+    private final int[] previousContexts;
+    // Next class by onset (initial * MEDIALS + medial) of the next syllable, or at ONSETS for no syllable
+    private final int[] nextClasses;
+    private final int[] nextInitials;
+    private final int[] nextMedials;
+    private final int contexts;
+    // Indexed by syllable - 0xAC00, then by previousClass * nextClassCount + nextClass; filled on first use
+    private final String[][] fragments = new String[SYLLABLES][];
+    private final boolean pronounced;
+    private final boolean dictionaries;
+
+    private CompiledScheme(RomanizationScheme scheme) {
+        this.scheme = scheme;
+        this.initials = new String[PREVIOUS_CONTEXTS * 2 * ONSETS];
+        for (int previous = RomanizationScheme.TEXT_START; previous < FINALS; previous++) {
+            for (int next = 0; next < 2; next++) {
+                for (int onset = 0; onset < ONSETS; onset++) {
+                    initials[((previous + 2) * 2 + next) * ONSETS + onset] =
+                        scheme.initial(onset / MEDIALS, onset % MEDIALS, previous, next == 1).intern();
+                }
+            }
+        }
+
+        this.medials = new String[(MEDIALS + 1) * ONSETS];
+        for (int next = RomanizationScheme.NO_SYLLABLE; next < MEDIALS; next++) {
+            for (int onset = 0; onset < ONSETS; onset++) {
+                medials[(next + 1) * ONSETS + onset] = scheme.medial(onset % MEDIALS, onset / MEDIALS, next).intern();
+            }
+        }
+
+        this.finals = new String[(INITIALS + 1) * FINALS];
+        for (int next = RomanizationScheme.NO_SYLLABLE; next < INITIALS; next++) {
+            for (int fin = 0; fin < FINALS; fin++) {
+                finals[(next + 1) * FINALS + fin] = scheme.finalConsonant(fin, next).intern();
+            }
+        }
+
+        this.jamo = new String[LAST_JAMO - FIRST_JAMO + 1];
+        for (char c = FIRST_JAMO; c <= LAST_JAMO; c++) {
+            jamo[c - FIRST_JAMO] = scheme.jamo(c).intern();
+        }
+
+        // Previous contexts are alike when they give every initial the same romanization
+        Map<List<String>, Integer> previousRows = new HashMap<>();
+        this.previousClasses = new int[PREVIOUS_CONTEXTS];
+        int[] previousContexts = new int[PREVIOUS_CONTEXTS];
+        for (int previous = 0; previous < PREVIOUS_CONTEXTS; previous++) {
+            List<String> row = Arrays.asList(initials).subList(previous * 2 * ONSETS, (previous + 1) * 2 * ONSETS);
+            int size = previousRows.size();
+            previousClasses[previous] = previousRows.computeIfAbsent(row, key -> size);
+            if (previousClasses[previous] == size) {
+                previousContexts[size] = previous - 2;
+            }
+        }
+        this.previousContexts = Arrays.copyOf(previousContexts, previousRows.size());
+
+        // Next syllables are alike when they give every medial and final the same romanization
+        Map<List<String>, Integer> nextRows = new HashMap<>();
+        this.nextClasses = new int[ONSETS + 1];
+        int[] nextInitials = new int[ONSETS + 1];
+        int[] nextMedials = new int[ONSETS + 1];
+        for (int onset = 0; onset <= ONSETS; onset++) {
+            int nextInitial = onset < ONSETS ? onset / MEDIALS : RomanizationScheme.NO_SYLLABLE;
+            int nextMedial = onset < ONSETS ? onset % MEDIALS : RomanizationScheme.NO_SYLLABLE;
+            List<String> row = new ArrayList<>(ONSETS + FINALS + 1);
+            row.addAll(Arrays.asList(medials).subList((nextMedial + 1) * ONSETS, (nextMedial + 2) * ONSETS));
+            row.addAll(Arrays.asList(finals).subList((nextInitial + 1) * FINALS, (nextInitial + 2) * FINALS));
+            row.add(nextInitial >= 0 ? "syllable" : "none");
+            int size = nextRows.size();
+            nextClasses[onset] = nextRows.computeIfAbsent(row, key -> size);
+            if (nextClasses[onset] == size) {
+                nextInitials[size] = nextInitial;
+                nextMedials[size] = nextMedial;
+            }
+        }
+        this.nextInitials = Arrays.copyOf(nextInitials, nextRows.size());
+        this.nextMedials = Arrays.copyOf(nextMedials, nextRows.size());
+        this.contexts = previousRows.size() * nextRows.size();
+
+        this.pronounced = scheme.appliesPronunciationRules();
+        this.dictionaries = scheme.usesNameDictionaries();
+    }
+
+    /**
+     * Gets the compiled tables of a scheme, compiling them on first use.
+     *
+     * @param scheme The romanization scheme
+     * @return The compiled scheme
+     */
+    static CompiledScheme of(RomanizationScheme scheme) {
+        CompiledScheme compiled = CACHE.get(scheme);
+        if (compiled == null) {
+            compiled = CACHE.computeIfAbsent(scheme, CompiledScheme::new);
+        }
+        return compiled;
+    }
+
+    RomanizationScheme getScheme() {
+        return scheme;
+    }
+
+    boolean appliesPronunciationRules() {
+        return pronounced;
+    }
+
+    boolean usesNameDictionaries() {
+        return dictionaries;
+    }
+
+    /**
+     * Checks whether a character is romanized by the scheme rather than copied through.
+     */
+    static boolean isRomanized(char c) {
+        return Syllable.isHangul(c) || (c >= FIRST_JAMO && c <= LAST_JAMO);
+    }
+
+    /**
+     * Gets the romanization of a syllable in context, building it on first use.
+     * Concurrent first uses may build the same fragment twice; either copy is correct.
+     *
+     * @param syllable The syllable index, from 0 for 가
+     * @param previousClass The class of the preceding context
+     * @param nextClass The class of the following syllable
+     * @return The romanized syllable
+     */
+    private String fragment(int syllable, int previousClass, int nextClass) {
+        String[] row = fragments[syllable];
+        if (row == null) {
+            row = new String[contexts];
+            fragments[syllable] = row;
+        }
+        int context = previousClass * nextInitials.length + nextClass;
+        String fragment = row[context];
+        if (fragment == null) {
+            int nextInitial = nextInitials[nextClass];
+            int beforeSyllable = nextInitial >= 0 ? 1 : 0;
+            int onset = syllable / FINALS;
+            fragment = initials[((previousContexts[previousClass] + 2) * 2 + beforeSyllable) * ONSETS + onset]
+                + medials[(nextMedials[nextClass] + 1) * ONSETS + onset]
+                + finals[(nextInitial + 1) * FINALS + syllable % FINALS];
+            row[context] = fragment;
+        }
+        return fragment;
+    }
+
+    /**
+     * Romanizes text whose sound changes have already been applied.
+     * Position 0 of the text is treated as the start of the text.
+     *
+     * @param text The (pronounced) text
+     * @param addSpaces Whether to add a space after each Korean character except the last character of the text
+     * @param out The buffer to append to
+     */
+    void romanize(CharSequence text, boolean addSpaces, StringBuilder out) {
+        romanize(text, 0, text.length(), addSpaces, out);
+    }
+
+    /**
+     * Romanizes the characters in [from, to) of a text, reading context from their neighbours.
+     *
+     * @param text The (pronounced) text
+     * @param from The first character to romanize
+     * @param to The end of the range to romanize
+     * @param addSpaces Whether to add a space after each Korean character except the last character of the text
+     * @param out The buffer to append to
+     */
+    void romanize(CharSequence text, int from, int to, boolean addSpaces, StringBuilder out) {
+        romanize(text, from, to, addSpaces, out, null, null);
+    }
+
+    /**
+     * Romanizes the characters in [from, to) of a text, recording where the romanization of
+     * each character starts and ends in the buffer. A space added after a character is not part
+     * of its span.
+     *
+     * @param text The (pronounced) text
+     * @param from The first character to romanize
+     * @param to The end of the range to romanize
+     * @param addSpaces Whether to add a space after each Korean character except the last character of the text
+     * @param out The buffer to append to
+     * @param starts Receives the output start of each character at its index, or null
+     * @param ends Receives the output end of each character at its index, or null
+     */
+    void romanize(CharSequence text, int from, int to, boolean addSpaces, StringBuilder out, int[] starts, int[] ends) {
+        int length = text.length();
+        for (int i = from; i < to; i++) {
+            int start = out.length();
+            char c = text.charAt(i);
+            if (Syllable.isHangul(c)) {
+                int previous;
+                if (i == 0) {
+                    previous = RomanizationScheme.TEXT_START;
+                } else {
+                    char p = text.charAt(i - 1);
+                    previous = Syllable.isHangul(p) ? (p - FIRST_SYLLABLE) % FINALS : RomanizationScheme.AFTER_NON_SYLLABLE;
+                }
+                int onset = ONSETS;
+                if (i + 1 < length) {
+                    char n = text.charAt(i + 1);
+                    if (Syllable.isHangul(n)) {
+                        onset = (n - FIRST_SYLLABLE) / FINALS;
+                    }
+                }
+                out.append(fragment(c - FIRST_SYLLABLE, previousClasses[previous + 2], nextClasses[onset]));
+            } else if (c >= FIRST_JAMO && c <= LAST_JAMO) {
+                out.append(jamo[c - FIRST_JAMO]);
+            } else {
+                out.append(c);
+                if (starts != null) {
+                    starts[i] = start;
+                    ends[i] = start + 1;
+                }
+                continue;
+            }
+            if (starts != null) {
+                starts[i] = start;
+                ends[i] = out.length();
+            }
+
+            // Add space after each Korean character if requested
+            if (addSpaces && i < length - 1) {
+                out.append(' ');
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.koreanromanizer;
+
+/**
+ * Duplicate statistics shared by the deduplicating batch romanizers.
+ * Null values are not romanized, so they count neither as distinct values nor as duplicates.
+ */
+final class DuplicateCounts {
+
+    private DuplicateCounts() {
+    }
+
+    /**
+     * Gets the share of non-null values that repeated an earlier value.
+     *
+     * @param values The number of non-null values
+     * @param distinct The number of distinct values
+     * @return The ratio, from 0 to 1, or 0 when there are no values
+     */
+    static double duplicateRatio(long values, long distinct) {
+        return values == 0 ? 0 : (double) (values - distinct) / values;
+    }
+
+    /**
+     * Describes the counts of a batch, e.g. "1000 rows, 150 distinct (85.0% duplicates)".
+     */
+    static String describe(long rows, long values, long distinct) {
+        return rows + " rows, " + distinct + " distinct (" + Math.round(duplicateRatio(values, distinct) * 1000) / 10.0 + "% duplicates)";
+    }
+}
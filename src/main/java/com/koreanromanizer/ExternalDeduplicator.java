@@ -0,0 +1,317 @@
+package com.koreanromanizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Romanizes a sequence of values too large to deduplicate in memory, romanizing each distinct
+ * value once.
+ *
+ * Values are hash-partitioned into spill files, so that all copies of a value land in the same
+ * partition, and the partition of each row is recorded in a sequence file. Each partition is
+ * then read on its own, its distinct values are romanized once, and its results are written in
+ * row order. Finally the sequence file is replayed to take each row's result from its
+ * partition, restoring the original order. Heap use is bounded by the distinct values of one
+ * partition plus the stream buffers, which share a fixed budget of {@value #BUFFER_BUDGET} bytes,
+ * and romanization work by the number of distinct values.
+ *
+ * The partitioning and joining phases each keep one file per partition open at once, plus the
+ * sequence file, so the partition count must stay below the process's open file limit.
+ *
+ * <pre>
+ * ExternalDeduplicator deduplicator = new ExternalDeduplicator(RomanizationMethod.FULL_NAME, 256, tempDirectory);
+ * ExternalDeduplicator.Summary summary = deduplicator.romanize(Paths.get("names.txt"), Paths.get("names_en.txt"));
+ * </pre>
+ */
+public final class ExternalDeduplicator {
+    private static final int BUFFER_BUDGET = 64 * 1024 * 1024;
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_BUFFER_SIZE = 4 * 1024;
+    private static final int MAX_PARTITIONS = 4096;
+
+    private final RomanizationMethod method;
+    private final int partitions;
+    private final Path tempDirectory;
+    private final int bufferSize;
+
+    /**
+     * Creates a deduplicator.
+     *
+     * @param method The romanization method
+     * @param partitions The number of spill partitions, at most 4096; the distinct values of one
+     *                   partition must fit in heap, and partitions + 1 files are open at once
+     * @param tempDirectory The directory for spill files, which are deleted when a run ends
+     */
+    public ExternalDeduplicator(RomanizationMethod method, int partitions, Path tempDirectory) {
+        this.method = Objects.requireNonNull(method, "method");
+        if (partitions <= 0 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("Partition count must be between 1 and " + MAX_PARTITIONS + ": " + partitions);
+        }
+        this.partitions = partitions;
+        this.bufferSize = Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, BUFFER_BUDGET / (partitions + 1)));
+        this.tempDirectory = Objects.requireNonNull(tempDirectory, "tempDirectory");
+    }
+
+    /**
+     * Counts of a run.
+     */
+    public static final class Summary {
+        private final long rows;
+        private final long nulls;
+        private final long distinct;
+
+        Summary(long rows, long nulls, long distinct) {
+            this.rows = rows;
+            this.nulls = nulls;
+            this.distinct = distinct;
+        }
+
+        /**
+         * Gets the number of values read.
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Gets the number of null values, which are not romanized.
+         */
+        public long getNulls() {
+            return nulls;
+        }
+
+        /**
+         * Gets the number of distinct non-null values, each romanized once.
+         */
+        public long getDistinct() {
+            return distinct;
+        }
+
+        /**
+         * Gets the share of non-null rows that repeated an earlier value, from 0 to 1.
+         */
+        public double getDuplicateRatio() {
+            return DuplicateCounts.duplicateRatio(rows - nulls, distinct);
+        }
+
+        @Override
+        public String toString() {
+            return DuplicateCounts.describe(rows, rows - nulls, distinct);
+        }
+    }
+
+    /**
+     * Romanizes a file with one value per line into a file with one result per line.
+     *
+     * @param input The input file, UTF-8
+     * @param output The output file, replaced if it exists
+     * @return The counts of the run
+     * @throws IOException if reading, writing or spilling fails
+     */
+    public Summary romanize(Path input, Path output) throws IOException {
+        try (Stream<String> lines = Files.lines(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            return romanize(lines.iterator(), result -> {
+                try {
+                    writer.write(result);
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Romanizes a sequence of values, passing the results to a consumer in input order.
+     *
+     * @param values The values; null values romanize to null
+     * @param results Receives one result per value, in order
+     * @return The counts of the run
+     * @throws IOException if spilling fails
+     */
+    public Summary romanize(Iterator<String> values, Consumer<String> results) throws IOException {
+        Path directory = Files.createTempDirectory(tempDirectory, "korean-romanizer-");
+        try {
+            // Spilled values per partition, and the null rows at index partitions
+            long[] counts = new long[partitions + 1];
+            long rows = partition(values, directory, counts);
+            long distinct = 0;
+            for (int p = 0; p < partitions; p++) {
+                distinct += romanizePartition(directory, p, counts[p]);
+            }
+            join(directory, rows, results);
+            return new Summary(rows, counts[partitions], distinct);
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static Path valuesFile(Path directory, int partition) {
+        return directory.resolve("values-" + partition);
+    }
+
+    private static Path resultsFile(Path directory, int partition) {
+        return directory.resolve("results-" + partition);
+    }
+
+    /**
+     * Spills each value to its partition and records the partition of each row.
+     *
+     * @param counts Receives the number of values spilled to each partition, then the number of nulls
+     * @return The number of rows
+     */
+    private long partition(Iterator<String> values, Path directory, long[] counts) throws IOException {
+        DataOutputStream[] spills = new DataOutputStream[partitions];
+        long rows = 0;
+        try (DataOutputStream sequence = open(directory.resolve("sequence"))) {
+            for (int p = 0; p < partitions; p++) {
+                spills[p] = open(valuesFile(directory, p));
+            }
+            while (values.hasNext()) {
+                String value = values.next();
+                int partition = 0;
+                if (value != null) {
+                    partition = partitionOf(value, partitions);
+                } else {
+                    counts[partitions]++;
+                }
+                sequence.writeShort(partition);
+                writeString(spills[partition], value);
+                counts[partition]++;
+                rows++;
+            }
+        } finally {
+            closeAll(spills);
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the partition of a value from the high bits of its remixed hash. The per-partition
+     * HashMap buckets by the low bits of the spread hash, so partitioning by those bits would
+     * give every value of a partition the same bucket bits.
+     *
+     * @param value The value
+     * @param partitions The number of partitions
+     * @return The partition, from 0 to partitions - 1
+     */
+    static int partitionOf(String value, int partitions) {
+        long mixed = (value.hashCode() * 0x9E3779B97F4A7C15L) >>> 32;
+        return (int) (mixed * partitions >>> 32);
+    }
+
+    /**
+     * Romanizes the distinct values of a partition once, writing a result per value in order.
+     *
+     * @return The number of distinct values in the partition
+     */
+    private int romanizePartition(Path directory, int partition, long count) throws IOException {
+        Map<String, String> romanized = new HashMap<>();
+        StringBuilder scratch = new StringBuilder(64);
+        Path spill = valuesFile(directory, partition);
+        try (DataInputStream in = openInput(spill);
+             DataOutputStream out = open(resultsFile(directory, partition))) {
+            for (long i = 0; i < count; i++) {
+                String value = readString(in);
+                String result = null;
+                if (value != null) {
+                    result = romanized.get(value);
+                    if (result == null) {
+                        result = method.romanize(value, scratch);
+                        romanized.put(value, result);
+                    }
+                }
+                writeString(out, result);
+            }
+        }
+        Files.delete(spill);
+        return romanized.size();
+    }
+
+    /**
+     * Replays the row sequence, taking each row's result from its partition.
+     */
+    private void join(Path directory, long rows, Consumer<String> results) throws IOException {
+        DataInputStream[] partitionResults = new DataInputStream[partitions];
+        try (DataInputStream sequence = openInput(directory.resolve("sequence"))) {
+            for (int p = 0; p < partitions; p++) {
+                partitionResults[p] = openInput(resultsFile(directory, p));
+            }
+            for (long row = 0; row < rows; row++) {
+                results.accept(readString(partitionResults[sequence.readUnsignedShort()]));
+            }
+        } finally {
+            closeAll(partitionResults);
+        }
+    }
+
+    private DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), bufferSize));
+    }
+
+    private DataInputStream openInput(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferSize));
+    }
+
+    private static void closeAll(Closeable[] streams) throws IOException {
+        IOException failure = null;
+        for (Closeable stream : streams) {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string, with length -1 for null.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
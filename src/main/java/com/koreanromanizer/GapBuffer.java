@@ -0,0 +1,125 @@
+package com.koreanromanizer;
+
+/**
+ * Editable text stored as a character array with a gap at the last edit, so a run of edits
+ * near each other costs the length of the edits plus the distance the gap moves, not the
+ * length of the text.
+ */
+final class GapBuffer implements CharSequence {
+    private static final int MIN_CAPACITY = 16;
+
+    private char[] chars;
+    // The gap occupies [gapStart, gapEnd) of the array
+    private int gapStart;
+    private int gapEnd;
+
+    /**
+     * Creates a buffer holding a text.
+     *
+     * @param text The initial text
+     */
+    GapBuffer(CharSequence text) {
+        int length = text.length();
+        chars = new char[Math.max(MIN_CAPACITY, length * 2)];
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        gapStart = length;
+        gapEnd = chars.length;
+    }
+
+    @Override
+    public int length() {
+        return chars.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index " + index + " for length " + length());
+        }
+        return chars[index < gapStart ? index : index + (gapEnd - gapStart)];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    /**
+     * Copies a range of the text.
+     *
+     * @param start The first character
+     * @param end The end of the range
+     * @return The characters in [start, end)
+     */
+    String substring(int start, int end) {
+        if (start < 0 || end < start || end > length()) {
+            throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for length " + length());
+        }
+        if (end <= gapStart) {
+            return new String(chars, start, end - start);
+        }
+        if (start >= gapStart) {
+            return new String(chars, start + (gapEnd - gapStart), end - start);
+        }
+        char[] copy = new char[end - start];
+        System.arraycopy(chars, start, copy, 0, gapStart - start);
+        System.arraycopy(chars, gapEnd, copy, gapStart - start, end - gapStart);
+        return new String(copy);
+    }
+
+    /**
+     * Replaces the characters in [start, end), moving the gap to the edit.
+     *
+     * @param start The first character to replace
+     * @param end The end of the range to replace
+     * @param replacement The new text
+     */
+    void replace(int start, int end, CharSequence replacement) {
+        if (start < 0 || end < start || end > length()) {
+            throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for length " + length());
+        }
+        moveGap(start);
+        gapEnd += end - start;
+        int inserted = replacement.length();
+        if (gapEnd - gapStart < inserted) {
+            grow(inserted);
+        }
+        for (int i = 0; i < inserted; i++) {
+            chars[gapStart++] = replacement.charAt(i);
+        }
+    }
+
+    private void moveGap(int index) {
+        if (gapStart == gapEnd) {
+            gapStart = index;
+            gapEnd = index;
+        } else if (index < gapStart) {
+            int moved = gapStart - index;
+            System.arraycopy(chars, index, chars, gapEnd - moved, moved);
+            gapStart -= moved;
+            gapEnd -= moved;
+        } else if (index > gapStart) {
+            int moved = index - gapStart;
+            System.arraycopy(chars, gapEnd, chars, gapStart, moved);
+            gapStart += moved;
+            gapEnd += moved;
+        }
+    }
+
+    private void grow(int needed) {
+        int length = length();
+        int tail = chars.length - gapEnd;
+        char[] grown = new char[Math.max(chars.length * 2, length + needed + MIN_CAPACITY)];
+        System.arraycopy(chars, 0, grown, 0, gapStart);
+        System.arraycopy(chars, gapEnd, grown, grown.length - tail, tail);
+        chars = grown;
+        gapEnd = grown.length - tail;
+    }
+
+    @Override
+    public String toString() {
+        return substring(0, length());
+    }
+}
@@ -1,15 +1,26 @@
 package com.koreanromanizer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Main class for romanizing Korean text following the Revised Romanization of Korean rules.
  * Enhanced version with improved name handling and formatting options.
  */
 public class KoreanRomanizer {
+    /**
+     * Version of the romanization rules. Change it whenever a change to the rules changes the
+     * output, so that persisted results (see {@link PersistentCache}) are recomputed.
+     */
+    public static final String ENGINE_VERSION = "1.1.0";
+
     private String text;
+    private final CompiledScheme tables;
 
     // Vowel mappings
     private static final Map<String, String> VOWEL = new HashMap<>();
@@ -1465,7 +1476,42 @@ public class KoreanRomanizer {
         // Add more as needed from real-world and celebrity examples...
     }
 
-    private static final Pattern HANGUL_PATTERN = Pattern.compile("[가-힣ㄱ-ㅣ]");
+    // Length of the longest dictionary entry, so whole-text lookups can be skipped for longer text
+    static final int LONGEST_DICTIONARY_ENTRY;
+    static {
+        int longest = 0;
+        for (Map<String, String> table : List.of(SURNAME_ROMANIZATIONS, ADDITIONAL_SURNAMES, GIVEN_NAME_ROMANIZATIONS)) {
+            for (String entry : table.keySet()) {
+                longest = Math.max(longest, entry.length());
+            }
+        }
+        LONGEST_DICTIONARY_ENTRY = longest;
+    }
+
+    // Sorted String hash codes of every dictionary entry, so text can be ruled out before a lookup key is built
+    private static final int[] DICTIONARY_HASHES;
+    static {
+        int[] hashes = new int[SURNAME_ROMANIZATIONS.size() + ADDITIONAL_SURNAMES.size() + GIVEN_NAME_ROMANIZATIONS.size()];
+        int count = 0;
+        for (Map<String, String> table : List.of(SURNAME_ROMANIZATIONS, ADDITIONAL_SURNAMES, GIVEN_NAME_ROMANIZATIONS)) {
+            for (String entry : table.keySet()) {
+                hashes[count++] = entry.hashCode();
+            }
+        }
+        Arrays.sort(hashes);
+        DICTIONARY_HASHES = hashes;
+    }
+
+    // Title-cased surname romanizations by dictionary form, so title-cased hits return shared instances
+    private static final Map<String, String> TITLE_CASED_SURNAMES = new HashMap<>();
+    static {
+        for (Map<String, String> table : List.of(SURNAME_ROMANIZATIONS, ADDITIONAL_SURNAMES)) {
+            for (String romanization : table.values()) {
+                String titleCased = toTitleCase(romanization);
+                TITLE_CASED_SURNAMES.put(romanization, titleCased.equals(romanization) ? romanization : titleCased);
+            }
+        }
+    }
 
     /**
      * Creates a KoreanRomanizer for the given Korean text.
@@ -1473,7 +1519,20 @@ public class KoreanRomanizer {
      * @param text The Korean text to romanize
      */
     public KoreanRomanizer(String text) {
-        this.text = text;
+        this(text, StandardScheme.REVISED_ROMANIZATION);
+    }
+
+    /**
+     * Creates a KoreanRomanizer for the given Korean text using a specific romanization scheme.
+     * Decomposed input (NFD conjoining jamo or halfwidth jamo) is composed into syllables here,
+     * once, and everything downstream reads the composed text.
+     * 
+     * @param text The Korean text to romanize
+     * @param scheme The romanization scheme, e.g. {@link StandardScheme#MCCUNE_REISCHAUER}
+     */
+    public KoreanRomanizer(String text, RomanizationScheme scheme) {
+        this.text = Syllable.normalize(text);
+        this.tables = CompiledScheme.of(scheme);
     }
 
     /**
@@ -1493,64 +1552,79 @@ public class KoreanRomanizer {
      * @return The romanized text
      */
     public String romanize(boolean addSpaces, boolean titleCase) {
-        // Check for common given name patterns first (including full names)
-        if (GIVEN_NAME_ROMANIZATIONS.containsKey(text)) {
-            return GIVEN_NAME_ROMANIZATIONS.get(text);
-        }
-        
-        // Check for common surname first (try standard, then additional)
-        if (SURNAME_ROMANIZATIONS.containsKey(text)) {
-            String result = SURNAME_ROMANIZATIONS.get(text);
-            return titleCase ? toTitleCase(result) : result;
-        }
-        if (ADDITIONAL_SURNAMES.containsKey(text)) {
-            String result = ADDITIONAL_SURNAMES.get(text);
-            return titleCase ? toTitleCase(result) : result;
+        return romanize(addSpaces, titleCase, new StringBuilder());
+    }
+
+    /**
+     * Romanizes the Korean text into a reusable scratch buffer.
+     * 
+     * @param addSpaces Whether to add spaces between syllables
+     * @param titleCase Whether to convert to title case
+     * @param scratch A buffer to build the result in; its contents are discarded
+     * @return The romanized text
+     */
+    String romanize(boolean addSpaces, boolean titleCase, StringBuilder scratch) {
+        return romanize(addSpaces, titleCase, scratch, null, null);
+    }
+
+    /**
+     * Romanizes the Korean text with configurable options, recording which span of the result
+     * came from each character. Indices refer to the text after {@link Syllable#normalize(String)},
+     * which is the input itself unless it contains conjoining or halfwidth jamo. Sound changes
+     * are applied as usual, so each span is the character's romanization in context. When the
+     * whole text is a dictionary name, every character spans the whole result.
+     * 
+     * @param addSpaces Whether to add spaces between syllables
+     * @param titleCase Whether to convert to title case
+     * @param starts Receives the result start of each character, at least as long as the text
+     * @param ends Receives the result end of each character, at least as long as the text
+     * @return The romanized text
+     */
+    public String romanize(boolean addSpaces, boolean titleCase, int[] starts, int[] ends) {
+        if (starts.length < text.length() || ends.length < text.length()) {
+            throw new IllegalArgumentException("Offset arrays must hold the text length: " + text.length());
         }
+        return romanize(addSpaces, titleCase, new StringBuilder(), starts, ends);
+    }
 
-        Pronouncer pronouncer = new Pronouncer(this.text);
-        String pronounced = pronouncer.getPronounced();
-        
-        StringBuilder romanized = new StringBuilder();
-        
-        for (int i = 0; i < pronounced.length(); i++) {
-            char c = pronounced.charAt(i);
-            String charStr = String.valueOf(c);
+    /**
+     * Romanizes the Korean text into a reusable scratch buffer, optionally recording the
+     * span of the result that came from each character.
+     * 
+     * @param addSpaces Whether to add spaces between syllables
+     * @param titleCase Whether to convert to title case
+     * @param scratch A buffer to build the result in; its contents are discarded
+     * @param starts Receives the result start of each character, or null
+     * @param ends Receives the result end of each character, or null
+     * @return The romanized text
+     */
+    String romanize(boolean addSpaces, boolean titleCase, StringBuilder scratch, int[] starts, int[] ends) {
+        if (tables.usesNameDictionaries()) {
+            // Check for common given name patterns first (including full names)
+            if (GIVEN_NAME_ROMANIZATIONS.containsKey(text)) {
+                return spanWholeText(GIVEN_NAME_ROMANIZATIONS.get(text), starts, ends);
+            }
             
-            if (HANGUL_PATTERN.matcher(charStr).matches()) {
-                Syllable syllable = new Syllable(c);
-                
-                if (syllable.getMedial() == null && syllable.getFinal() == null) {
-                    // Single jamo character (not a full syllable)
-                    if (VOWEL.containsKey(charStr)) {
-                        romanized.append(VOWEL.get(charStr));
-                    } else if (ONSET.containsKey(charStr)) {
-                    romanized.append(getInitialConsonant(charStr, i, pronounced));
-                    } else if (COMPAT_ONSET.containsKey(charStr)) {
-                        romanized.append(COMPAT_ONSET.get(charStr));
-                    } else {
-                        romanized.append(charStr);
-                    }
-                } else {
-                    // Full syllable with enhanced context-aware rules
-                    String initialRoman = getInitialConsonant(syllable.getInitial(), i, pronounced);
-                    String medialRoman = getVowelRomanization(syllable.getMedial(), i, pronounced);
-                    String finalRoman = getFinalConsonant(syllable.getFinal(), i, pronounced);
-                    
-                    romanized.append(initialRoman).append(medialRoman).append(finalRoman);
-                }
-                
-                // Add space after each syllable if requested
-                if (addSpaces && i < pronounced.length() - 1) {
-                    romanized.append(" ");
-                }
-            } else {
-                // Non-Korean character
-                romanized.append(charStr);
+            // Check for common surname first (try standard, then additional)
+            if (SURNAME_ROMANIZATIONS.containsKey(text)) {
+                String result = SURNAME_ROMANIZATIONS.get(text);
+                return spanWholeText(titleCase ? TITLE_CASED_SURNAMES.get(result) : result, starts, ends);
+            }
+            if (ADDITIONAL_SURNAMES.containsKey(text)) {
+                String result = ADDITIONAL_SURNAMES.get(text);
+                return spanWholeText(titleCase ? TITLE_CASED_SURNAMES.get(result) : result, starts, ends);
             }
         }
+
+        String source = this.text;
+        if (tables.appliesPronunciationRules()) {
+            // The pronounced text has one character per character of the text, so spans still line up
+            source = new Pronouncer(this.text).getPronounced();
+        }
         
-        String result = romanized.toString();
+        scratch.setLength(0);
+        tables.romanize(source, 0, source.length(), addSpaces, scratch, starts, ends);
+        String result = scratch.toString();
         
         // Apply title case if requested
         if (titleCase) {
@@ -1560,65 +1634,122 @@ public class KoreanRomanizer {
         return result;
     }
 
+    /**
+     * Romanizes a range of normalized text, appending the same result as
+     * {@link #romanize(boolean, boolean)} of that range without allocating. The dictionaries
+     * are only consulted with a string key when the range hashes like an entry.
+     *
+     * @param tables The compiled scheme
+     * @param text Normalized text
+     * @param from The first character to romanize
+     * @param to The end of the range to romanize
+     * @param addSpaces Whether to add spaces between syllables
+     * @param titleCase Whether to convert to title case
+     * @param source A buffer for the pronounced range; its contents are discarded
+     * @param out The buffer to append to
+     */
+    static void romanize(CompiledScheme tables, CharSequence text, int from, int to, boolean addSpaces,
+                         boolean titleCase, StringBuilder source, StringBuilder out) {
+        if (tables.usesNameDictionaries() && to - from <= LONGEST_DICTIONARY_ENTRY) {
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            if (Arrays.binarySearch(DICTIONARY_HASHES, hash) >= 0) {
+                String key = text.subSequence(from, to).toString();
+                String result = GIVEN_NAME_ROMANIZATIONS.get(key);
+                if (result == null) {
+                    result = SURNAME_ROMANIZATIONS.get(key);
+                    if (result == null) {
+                        result = ADDITIONAL_SURNAMES.get(key);
+                    }
+                    if (result != null && titleCase) {
+                        result = TITLE_CASED_SURNAMES.get(result);
+                    }
+                }
+                if (result != null) {
+                    out.append(result);
+                    return;
+                }
+            }
+        }
+
+        source.setLength(0);
+        source.append(text, from, to);
+        if (tables.appliesPronunciationRules()) {
+            Pronouncer.pronounce(source);
+        }
+        int start = out.length();
+        tables.romanize(source, 0, source.length(), addSpaces, out);
+
+        if (titleCase) {
+            // In place, as toTitleCase does it
+            boolean capitalizeNext = true;
+            for (int i = start; i < out.length(); i++) {
+                char c = out.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    capitalizeNext = true;
+                } else if (capitalizeNext) {
+                    out.setCharAt(i, Character.toUpperCase(c));
+                    capitalizeNext = false;
+                } else {
+                    out.setCharAt(i, Character.toLowerCase(c));
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a dictionary result as the span of every character of the text.
+     */
+    private String spanWholeText(String result, int[] starts, int[] ends) {
+        if (starts != null) {
+            Arrays.fill(starts, 0, text.length(), 0);
+            Arrays.fill(ends, 0, text.length(), result.length());
+        }
+        return result;
+    }
+
     /**
      * Gets the romanized form of an initial consonant according to official government rules.
      * ㄱ, ㄷ, ㅂ are transcribed as g, d, b before vowels; k, t, p before consonants or at word end.
      * ㄹ is transcribed as r before vowels, l before consonants or at word end.
+     * 
+     * @param initial The initial consonant jamo
+     * @param textStart Whether the syllable is the first character of the text
+     * @param prevIsConsonant Whether the previous syllable ends in a final consonant
+     * @param nextIsVowel Whether the next character is a syllable, so the sound continues into a vowel
+     * @return The romanized initial
      */
-    private String getInitialConsonant(String initial, int position, String text) {
+    static String revisedInitial(String initial, boolean textStart, boolean prevIsConsonant, boolean nextIsVowel) {
         if (initial == null) return "";
         
         // Enhanced context-aware romanization for Korean names
         // Consider position, surrounding characters, and name-specific patterns
         
-        // Check if this is a single character (likely a surname)
-        boolean isSingleChar = text.length() == 1;
-        
-        // Check if next character is a vowel
-        boolean nextIsVowel = false;
-        String nextVowel = null;
-        if (position < text.length() - 1) {
-            char nextChar = text.charAt(position + 1);
-            Syllable nextSyllable = new Syllable(nextChar);
-            if (nextSyllable.getMedial() != null) {
-                nextIsVowel = true;
-                nextVowel = nextSyllable.getMedial();
-            }
-        }
-        
-        // Check if previous character affects this one (for compound names)
-        boolean prevIsConsonant = false;
-        if (position > 0) {
-            char prevChar = text.charAt(position - 1);
-            Syllable prevSyllable = new Syllable(prevChar);
-            if (prevSyllable.getFinal() != null) {
-                prevIsConsonant = true;
-            }
-        }
-        
         // Apply enhanced name-specific rules
         switch (initial) {
             case "ᄀ": 
                 // ㄱ: 'g' at word beginning or after certain consonants, 'k' elsewhere
-                if (isSingleChar || position == 0 || prevIsConsonant) {
+                if (textStart || prevIsConsonant) {
                     return "g";
                 }
                 return nextIsVowel ? "g" : "k";
             case "ᄃ": 
                 // ㄷ: 'd' at word beginning or after certain consonants, 't' elsewhere
-                if (isSingleChar || position == 0 || prevIsConsonant) {
+                if (textStart || prevIsConsonant) {
                     return "d";
                 }
                 return nextIsVowel ? "d" : "t";
             case "ᄇ": 
                 // ㅂ: 'b' at word beginning or after certain consonants, 'p' elsewhere
-                if (isSingleChar || position == 0 || prevIsConsonant) {
+                if (textStart || prevIsConsonant) {
                     return "b";
                 }
                 return nextIsVowel ? "b" : "p";
             case "ᄅ": 
                 // ㄹ: 'r' at word beginning, 'l' elsewhere
-                if (position == 0) {
+                if (textStart) {
                     return "r";
                 }
                 return nextIsVowel ? "r" : "l";
@@ -1667,22 +1798,17 @@ public class KoreanRomanizer {
      * Gets the romanized form of a vowel with enhanced combination handling.
      * 
      * @param vowel The vowel to romanize
-     * @param position The position in the text
-     * @param text The full text being romanized
+     * @param nextVowel The vowel of the next syllable, or null if the next character is not a syllable
      * @return The romanized vowel
      */
-    private String getVowelRomanization(String vowel, int position, String text) {
+    static String revisedVowel(String vowel, String nextVowel) {
         if (vowel == null) return "";
         
         // Check for vowel combinations with next character
-        if (position < text.length() - 1) {
-            char nextChar = text.charAt(position + 1);
-            Syllable nextSyllable = new Syllable(nextChar);
-            if (nextSyllable.getMedial() != null) {
-                String combination = vowel + nextSyllable.getMedial();
-                if (VOWEL_COMBINATIONS.containsKey(combination)) {
-                    return VOWEL_COMBINATIONS.get(combination);
-                }
+        if (nextVowel != null) {
+            String combination = vowel + nextVowel;
+            if (VOWEL_COMBINATIONS.containsKey(combination)) {
+                return VOWEL_COMBINATIONS.get(combination);
             }
         }
         
@@ -1694,13 +1820,13 @@ public class KoreanRomanizer {
      * Gets the romanized form of a final consonant according to official government rules.
      * ㄱ, ㄷ, ㅂ are always transcribed as k, t, p at word end.
      * ㄹ is transcribed as l at word end.
+     * 
+     * @param finalConsonant The final consonant jamo, or null for none
+     * @return The romanized final
      */
-    private String getFinalConsonant(String finalConsonant, int position, String text) {
+    static String revisedFinal(String finalConsonant) {
         if (finalConsonant == null) return "";
         
-        // Check if this is the end of the word
-        boolean isWordEnd = (position == text.length() - 1);
-        
         // Apply official government rules
         switch (finalConsonant) {
             case "ᆨ": return "k";
@@ -1711,13 +1837,28 @@ public class KoreanRomanizer {
         }
     }
 
+    /**
+     * Gets the romanized form of a single compatibility jamo character (not a full syllable).
+     * 
+     * @param jamo The jamo character
+     * @return The romanized jamo, or the jamo itself if it has no romanization
+     */
+    static String revisedJamo(String jamo) {
+        if (VOWEL.containsKey(jamo)) {
+            return VOWEL.get(jamo);
+        } else if (COMPAT_ONSET.containsKey(jamo)) {
+            return COMPAT_ONSET.get(jamo);
+        }
+        return jamo;
+    }
+
     /**
      * Converts text to title case (first letter of each word capitalized).
      * 
      * @param text The text to convert
      * @return The title-cased text
      */
-    private String toTitleCase(String text) {
+    static String toTitleCase(String text) {
         if (text == null || text.isEmpty()) {
             return text;
         }
@@ -1740,6 +1881,66 @@ public class KoreanRomanizer {
         return result.toString();
     }
 
+    /**
+     * Looks up the dictionary spellings of a surname, standard table first.
+     * 
+     * @param surname The Hangul surname
+     * @return The known spellings, empty if the surname is not in either table
+     */
+    static List<String> lookupSurnameSpellings(String surname) {
+        List<String> spellings = new ArrayList<>(2);
+        String standard = SURNAME_ROMANIZATIONS.get(surname);
+        if (standard != null) {
+            spellings.add(standard);
+        }
+        String additional = ADDITIONAL_SURNAMES.get(surname);
+        if (additional != null && !additional.equals(standard)) {
+            spellings.add(additional);
+        }
+        return spellings;
+    }
+
+    /**
+     * Looks up the dictionary romanization of a whole text, checking the tables in the same
+     * order as {@link #romanize(boolean, boolean)}.
+     * 
+     * @param text The Hangul text
+     * @return The romanization, or null if the text is not in any table
+     */
+    static String lookupWholeText(String text) {
+        String result = GIVEN_NAME_ROMANIZATIONS.get(text);
+        if (result == null) {
+            result = SURNAME_ROMANIZATIONS.get(text);
+        }
+        if (result == null) {
+            result = ADDITIONAL_SURNAMES.get(text);
+        }
+        return result;
+    }
+
+    /**
+     * Gets read-only views of the name dictionaries, named and in whole-text lookup order.
+     *
+     * @return The tables "given_names", "surnames" and "additional_surnames"
+     */
+    static Map<String, Map<String, String>> dictionaryTables() {
+        Map<String, Map<String, String>> tables = new LinkedHashMap<>();
+        tables.put("given_names", Collections.unmodifiableMap(GIVEN_NAME_ROMANIZATIONS));
+        tables.put("surnames", Collections.unmodifiableMap(SURNAME_ROMANIZATIONS));
+        tables.put("additional_surnames", Collections.unmodifiableMap(ADDITIONAL_SURNAMES));
+        return tables;
+    }
+
+    /**
+     * Looks up the dictionary romanization of a given name.
+     * 
+     * @param givenName The Hangul given name
+     * @return The romanization, or null if the name is not in the table
+     */
+    static String lookupGivenName(String givenName) {
+        return GIVEN_NAME_ROMANIZATIONS.get(givenName);
+    }
+
     /**
      * Romanizes Korean names with proper spacing and formatting.
      * 
@@ -1757,21 +1958,58 @@ public class KoreanRomanizer {
      * @return The romanized full name with proper formatting (e.g., "Kim Min Jun")
      */
     public static String romanizeFullName(String fullName) {
+        return romanizeFullName(fullName, new StringBuilder());
+    }
+
+    /**
+     * Romanizes a full Korean name, building both parts in a reusable scratch buffer.
+     * 
+     * @param fullName The full Korean name
+     * @param scratch A buffer to build the result in; its contents are discarded
+     * @return The romanized full name
+     */
+    static String romanizeFullName(String fullName, StringBuilder scratch) {
+        return romanizeFullName(fullName, scratch, null, null);
+    }
+
+    /**
+     * Romanizes a full Korean name, optionally recording the span of the result that came
+     * from each character of the normalized name.
+     * 
+     * @param fullName The full Korean name
+     * @param scratch A buffer to build the result in; its contents are discarded
+     * @param starts Receives the result start of each character, or null
+     * @param ends Receives the result end of each character, or null
+     * @return The romanized full name
+     */
+    static String romanizeFullName(String fullName, StringBuilder scratch, int[] starts, int[] ends) {
         if (fullName == null || fullName.isEmpty()) {
             return fullName;
         }
         
+        fullName = Syllable.normalize(fullName);
+
         // Handle single character (likely just a surname)
         if (fullName.length() == 1) {
-            return romanizeName(fullName);
+            return new KoreanRomanizer(fullName).romanize(true, true, scratch, starts, ends);
         }
         
         // For longer names, assume first character is surname, rest is given name
         String lastName = fullName.substring(0, 1);
         String firstName = fullName.substring(1);
         
-        String romanizedLastName = romanizeName(lastName);
-        String romanizedFirstName = romanizeName(firstName);
+        int[] firstStarts = starts != null ? new int[firstName.length()] : null;
+        int[] firstEnds = ends != null ? new int[firstName.length()] : null;
+        String romanizedLastName = new KoreanRomanizer(lastName).romanize(true, true, scratch, starts, ends);
+        String romanizedFirstName = new KoreanRomanizer(firstName).romanize(true, true, scratch, firstStarts, firstEnds);
+        if (starts != null) {
+            // The given name follows the surname and a space
+            int shift = romanizedLastName.length() + 1;
+            for (int i = 0; i < firstStarts.length; i++) {
+                starts[i + 1] = firstStarts[i] + shift;
+                ends[i + 1] = firstEnds[i] + shift;
+            }
+        }
         
         return romanizedLastName + " " + romanizedFirstName;
     }
@@ -1785,6 +2023,17 @@ public class KoreanRomanizer {
     public static String romanize(String text) {
         return new KoreanRomanizer(text).romanize();
     }
+
+    /**
+     * Static method for romanization with a specific scheme.
+     * 
+     * @param text The Korean text to romanize
+     * @param scheme The romanization scheme
+     * @return The romanized text
+     */
+    public static String romanize(String text, RomanizationScheme scheme) {
+        return new KoreanRomanizer(text, scheme).romanize();
+    }
     
     /**
      * Main method for command line usage.
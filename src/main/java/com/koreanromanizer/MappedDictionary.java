@@ -0,0 +1,361 @@
+package com.koreanromanizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only name dictionary memory-mapped from a file.
+ *
+ * The file holds named tables of Hangul keys and romanizations in open-addressing hash tables.
+ * Lookups hash and compare the key directly against the mapped bytes and only decode the value
+ * of a hit, so nothing but the table names is copied onto the heap. Every process that opens
+ * the same file shares the same page-cache pages.
+ *
+ * Files are written to a temporary file and moved into place, so a replaced file never changes
+ * under a process that has it mapped. A file is limited to 2 GB.
+ *
+ * <pre>
+ * Map&lt;String, Map&lt;String, String&gt;&gt; tables = new LinkedHashMap&lt;&gt;(MappedDictionary.builtInTables());
+ * tables.put("customers", customerNames);
+ * MappedDictionary.write(Paths.get("names.dict"), tables);
+ * MappedDictionary dictionary = MappedDictionary.open(Paths.get("names.dict"));
+ * String romanized = dictionary.lookup("김민준");
+ * String fullName = RomanizationMethod.FULL_NAME.apply("김민준", dictionary);
+ * </pre>
+ */
+public final class MappedDictionary {
+    private static final int MAGIC = 0x4B524443; // "KRDC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int DIRECTORY_ENTRY_SIZE = 20;
+    private static final int SLOT_SIZE = 8;
+    private static final int MAX_LENGTH = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final String[] names;
+    // Per table: offset of its slots, slot count (a power of two) and entry count
+    private final int[] slotOffsets;
+    private final int[] slotCounts;
+    private final int[] sizes;
+
+    private MappedDictionary(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a dictionary file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported dictionary version: " + buffer.getInt(4));
+        }
+        int tableCount = buffer.getInt(8);
+        names = new String[tableCount];
+        slotOffsets = new int[tableCount];
+        slotCounts = new int[tableCount];
+        sizes = new int[tableCount];
+        for (int t = 0; t < tableCount; t++) {
+            int entry = HEADER_SIZE + t * DIRECTORY_ENTRY_SIZE;
+            byte[] name = new byte[buffer.getInt(entry + 4)];
+            for (int i = 0; i < name.length; i++) {
+                name[i] = buffer.get(buffer.getInt(entry) + i);
+            }
+            names[t] = new String(name, StandardCharsets.UTF_8);
+            slotOffsets[t] = buffer.getInt(entry + 8);
+            slotCounts[t] = buffer.getInt(entry + 12);
+            sizes[t] = buffer.getInt(entry + 16);
+        }
+    }
+
+    /**
+     * Maps a dictionary file read-only.
+     *
+     * @param file The dictionary file
+     * @return The dictionary
+     * @throws IOException if the file cannot be read or is not a dictionary file
+     */
+    public static MappedDictionary open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Dictionary file too large: " + channel.size());
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedDictionary(buffer);
+        }
+    }
+
+    /**
+     * Gets the romanizer's own name dictionaries, in the order {@link KoreanRomanizer} checks them.
+     *
+     * @return Read-only tables "given_names", "surnames" and "additional_surnames"
+     */
+    public static Map<String, Map<String, String>> builtInTables() {
+        return Collections.unmodifiableMap(KoreanRomanizer.dictionaryTables());
+    }
+
+    /**
+     * Writes named tables to a dictionary file, replacing it atomically.
+     *
+     * @param file The dictionary file
+     * @param tables The tables by name, in lookup order
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a key or value is longer than 65535 characters or bytes,
+     *         or the tables do not fit in 2 GB
+     */
+    public static void write(Path file, Map<String, ? extends Map<String, String>> tables) throws IOException {
+        List<byte[]> names = new ArrayList<>(tables.size());
+        long size = HEADER_SIZE + (long) tables.size() * DIRECTORY_ENTRY_SIZE;
+        for (String name : tables.keySet()) {
+            byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+            names.add(encoded);
+            size += encoded.length;
+        }
+        for (Map<String, String> table : tables.values()) {
+            size += (long) slotCount(table.size()) * SLOT_SIZE;
+            for (Map.Entry<String, String> entry : table.entrySet()) {
+                size += 4 + entrySize(entry.getKey(), entry.getValue());
+            }
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dictionary too large: " + size + " bytes");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) size);
+        out.putInt(MAGIC).putInt(VERSION).putInt(tables.size());
+        int position = HEADER_SIZE + tables.size() * DIRECTORY_ENTRY_SIZE;
+        int t = 0;
+        for (byte[] name : names) {
+            int directory = HEADER_SIZE + t++ * DIRECTORY_ENTRY_SIZE;
+            out.putInt(directory, position).putInt(directory + 4, name.length);
+            out.position(position);
+            out.put(name);
+            position += name.length;
+        }
+        t = 0;
+        for (Map<String, String> table : tables.values()) {
+            int slots = slotCount(table.size());
+            int directory = HEADER_SIZE + t++ * DIRECTORY_ENTRY_SIZE;
+            out.putInt(directory + 8, position).putInt(directory + 12, slots).putInt(directory + 16, table.size());
+            int slotOffset = position;
+            position += slots * SLOT_SIZE;
+            for (Map.Entry<String, String> entry : table.entrySet()) {
+                String key = entry.getKey();
+                byte[] value = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                int hash = hash(key);
+                int slot = hash & (slots - 1);
+                while (out.getInt(slotOffset + slot * SLOT_SIZE + 4) != 0) {
+                    slot = (slot + 1) & (slots - 1);
+                }
+                out.putInt(slotOffset + slot * SLOT_SIZE, hash).putInt(slotOffset + slot * SLOT_SIZE + 4, position);
+                out.position(position);
+                out.putShort((short) key.length()).putShort((short) value.length);
+                for (int i = 0; i < key.length(); i++) {
+                    out.putChar(key.charAt(i));
+                }
+                out.put(value);
+                position = out.position();
+            }
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, out.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Gets the size of an entry's key and value, checking their lengths.
+     */
+    private static int entrySize(String key, String value) {
+        int valueBytes = value.getBytes(StandardCharsets.UTF_8).length;
+        if (key.length() > MAX_LENGTH || valueBytes > MAX_LENGTH) {
+            throw new IllegalArgumentException("Entry too long: " + key);
+        }
+        return key.length() * 2 + valueBytes;
+    }
+
+    /**
+     * Gets the number of slots for a table, a power of two at most half full.
+     */
+    private static int slotCount(int size) {
+        return Integer.highestOneBit(Math.max(1, size) * 2 - 1) * 2;
+    }
+
+    /**
+     * Hashes a key like {@link String#hashCode()}, spreading the high bits into the slot index.
+     */
+    private static int hash(CharSequence key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            h = 31 * h + key.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the table names, in lookup order.
+     */
+    public List<String> tableNames() {
+        return List.of(names);
+    }
+
+    /**
+     * Gets the number of entries in a table.
+     *
+     * @param table The table name
+     * @return The number of entries
+     * @throws IllegalArgumentException if there is no such table
+     */
+    public int size(String table) {
+        return sizes[tableIndex(table)];
+    }
+
+    /**
+     * Looks up a key in one table.
+     *
+     * @param table The table name
+     * @param key The Hangul key
+     * @return The romanization, or null if the key is not in the table
+     * @throws IllegalArgumentException if there is no such table
+     */
+    public String get(String table, CharSequence key) {
+        return get(tableIndex(table), key, hash(key));
+    }
+
+    /**
+     * Looks up a key in each table in turn, as {@link KoreanRomanizer} looks up whole texts.
+     *
+     * @param key The Hangul key
+     * @return The romanization from the first table containing the key, or null
+     */
+    public String lookup(CharSequence key) {
+        int hash = hash(key);
+        for (int t = 0; t < names.length; t++) {
+            String value = get(t, key, hash);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private int tableIndex(String table) {
+        for (int t = 0; t < names.length; t++) {
+            if (names[t].equals(table)) {
+                return t;
+            }
+        }
+        throw new IllegalArgumentException("Unknown table: " + table);
+    }
+
+    private String get(int table, CharSequence key, int hash) {
+        int mask = slotCounts[table] - 1;
+        int slotOffset = slotOffsets[table];
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = buffer.getInt(slotOffset + slot * SLOT_SIZE + 4);
+            if (entry == 0) {
+                return null;
+            }
+            if (buffer.getInt(slotOffset + slot * SLOT_SIZE) == hash && keyEquals(entry, key)) {
+                return value(entry);
+            }
+        }
+    }
+
+    private boolean keyEquals(int entry, CharSequence key) {
+        int length = buffer.getShort(entry) & MAX_LENGTH;
+        if (length != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.getChar(entry + 4 + i * 2) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String value(int entry) {
+        int keyLength = buffer.getShort(entry) & MAX_LENGTH;
+        byte[] value = new byte[buffer.getShort(entry + 2) & MAX_LENGTH];
+        int start = entry + 4 + keyLength * 2;
+        for (int i = 0; i < value.length; i++) {
+            value[i] = buffer.get(start + i);
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a custom name list: one "hangul&lt;TAB&gt;romanization" entry per line.
+     * Blank lines and lines starting with # are skipped; the first entry for a key wins.
+     *
+     * @param file The name list
+     * @return The entries in file order
+     * @throws IOException if the file cannot be read or a line has no tab
+     */
+    public static Map<String, String> readNameList(Path file) throws IOException {
+        Map<String, String> names = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    throw new IOException(file + ":" + number + ": expected hangul<TAB>romanization");
+                }
+                names.putIfAbsent(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Builds a dictionary file from the built-in tables and custom name lists.
+     * Usage: java MappedDictionary output [name=list.tsv ...]
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java com.koreanromanizer.MappedDictionary output [name=list.tsv ...]");
+            System.out.println("Each list has one hangul<TAB>romanization entry per line; lists are looked up after the built-in tables");
+            System.exit(1);
+        }
+
+        try {
+            Map<String, Map<String, String>> tables = new LinkedHashMap<>(builtInTables());
+            for (int i = 1; i < args.length; i++) {
+                int equals = args[i].indexOf('=');
+                if (equals <= 0) {
+                    throw new IllegalArgumentException("Expected name=list.tsv: " + args[i]);
+                }
+                tables.put(args[i].substring(0, equals), readNameList(Paths.get(args[i].substring(equals + 1))));
+            }
+            write(Paths.get(args[0]), tables);
+            for (Map.Entry<String, Map<String, String>> table : tables.entrySet()) {
+                System.out.println(table.getKey() + ": " + table.getValue().size() + " entries");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -1,15 +1,30 @@
 package com.koreanromanizer;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.regex.Matcher;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class to extract Korean names from various file formats in the test_strings directory.
@@ -19,6 +34,39 @@ public class NameExtractor {
     
     private static final ObjectMapper objectMapper = new ObjectMapper();
     
+    // Pattern to match: <strong>Kim</strong> – Gold  – 金 (and <strong>Ji-An</strong> – Wisdom and tranquility – 智安)
+    private static final Pattern HTML_NAME_PATTERN = Pattern.compile("<strong>([^<]+)</strong>\\s*–\\s*([^–]+)\\s*–\\s*([^\\s]+)");
+    // Pattern to match: 김	金, 钅 [sic]	Gim	Kim	Ghim,[3] Kin[3]	10,689,967	21.5065%
+    private static final Pattern SURNAME_TEXT_PATTERN = Pattern.compile("([가-힣]+)\\s+([^\\t]+)\\s+([^\\t]+)\\s+([^\\t]+)");
+    // Pattern to match: Ga-young (가영)
+    private static final Pattern GIVEN_NAME_TEXT_PATTERN = Pattern.compile("([A-Za-z-]+)\\s*\\(([가-힣]+)\\)");
+    // Pattern to match: Jimin (지민) – Popularized by BTS's Park Jimin
+    private static final Pattern EXAMPLE_TEXT_PATTERN = Pattern.compile("([A-Za-z]+)\\s*\\(([가-힣]+)\\)");
+    
+    // Surnames and given names of the HTML examples, which only give the romanization
+    private static final Map<String, String> HTML_SURNAMES = Map.of(
+        "Kim", "김", "Lee", "이", "Park", "박", "Jeong", "정", "Choi", "최",
+        "Cho", "조", "Kang", "강", "Yoon", "윤", "Jang", "장", "Lim", "임");
+    private static final Map<String, String> HTML_GIVEN_NAMES = Map.of(
+        "Ji-An", "지안", "Ha-Yoon", "하윤", "Seo-Ah", "서아", "Ha-Eun", "하은", "Seo-Yun", "서윤",
+        "Ha-Rin", "하린", "Ji-Yoo", "지유", "Ji-Woo", "지우", "Soo-Ah", "수아", "Ji-a", "지아");
+    
+    // The source files of test_strings in reading order, and the extractor of each
+    private static final List<String> SOURCE_FILES = List.of(
+        "korean_names_1000.json",
+        "examples_korean_last_names_300.html",
+        "examples_korean_first_names_1000.html",
+        "List of Korean surnames.txt",
+        "List of Korean given names.txt",
+        "name_examples.txt");
+    private static final List<Function<Path, Stream<KoreanName>>> SOURCE_EXTRACTORS = List.of(
+        NameExtractor::streamJsonNames,
+        NameExtractor::streamHtmlSurnames,
+        NameExtractor::streamHtmlGivenNames,
+        NameExtractor::streamTextSurnames,
+        NameExtractor::streamTextGivenNames,
+        NameExtractor::streamTextExamples);
+    
     /**
      * Represents a Korean name with its romanization
      */
@@ -47,230 +95,344 @@ public class NameExtractor {
      * Extract all Korean names from all files in the test_strings directory
      */
     public static List<KoreanName> extractAllNames() {
+        return extractAllNames(new HashMap<>());
+    }
+    
+    /**
+     * Extract all Korean names from all files in the test_strings directory, reading each source
+     * file on its own thread. Names are deduplicated as they are read, and the result keeps the
+     * order of a sequential read.
+     * 
+     * @param sourceCounts Receives the number of names extracted from each source file, before deduplication
+     * @return The unique names
+     */
+    public static List<KoreanName> extractAllNames(Map<String, Integer> sourceCounts) {
+        return extractAllNames(Paths.get("test_strings"), sourceCounts);
+    }
+    
+    /**
+     * Extract all Korean names from the source files of a directory laid out like test_strings.
+     * 
+     * @param directory The directory holding the source files
+     * @param sourceCounts Receives the number of names extracted from each source file, before deduplication
+     * @return The unique names
+     */
+    static List<KoreanName> extractAllNames(Path directory, Map<String, Integer> sourceCounts) {
         List<KoreanName> allNames = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(SOURCE_FILES.size(), runnable -> {
+            Thread thread = new Thread(runnable, "korean-romanizer-name-extractor");
+            thread.setDaemon(true);
+            return thread;
+        });
         
         try {
-            // Extract from JSON files
-            allNames.addAll(extractFromJsonFiles());
-            
-            // Extract from HTML files
-            allNames.addAll(extractFromHtmlFiles());
+            ConcurrentMap<NameKey, Occurrence> unique = new ConcurrentHashMap<>();
+            ConcurrentMap<String, Integer> counts = new ConcurrentHashMap<>();
+            int[] extracted = new int[SOURCE_FILES.size()];
+            String[] errors = new String[SOURCE_FILES.size()];
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
             
-            // Extract from text files
-            allNames.addAll(extractFromTextFiles());
+            for (int i = 0; i < SOURCE_FILES.size(); i++) {
+                int file = i;
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        extracted[file] = addUnique(file, directory, unique, counts);
+                    } catch (RuntimeException e) {
+                        errors[file] = e.getMessage();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+            for (int i = 0; i < SOURCE_FILES.size(); i++) {
+                if (errors[i] != null) {
+                    System.err.println("Error extracting from " + SOURCE_FILES.get(i) + ": " + errors[i]);
+                } else {
+                    System.out.printf("Extracted %d names from %s%n", extracted[i], SOURCE_FILES.get(i));
+                }
+            }
             
-            // Remove duplicates and sort
-            allNames = removeDuplicates(allNames);
+            // First occurrences, in the order a sequential read would have met them
+            Occurrence[] first = unique.values().toArray(new Occurrence[0]);
+            Arrays.parallelSort(first, Comparator.comparingLong(occurrence -> occurrence.ordinal));
+            for (Occurrence occurrence : first) {
+                allNames.add(occurrence.name);
+            }
+            sourceCounts.putAll(counts);
             
             System.out.printf("Extracted %d unique Korean names from all sources%n", allNames.size());
             
         } catch (Exception e) {
             System.err.println("Error extracting names: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            executor.shutdown();
         }
         
         return allNames;
     }
     
-    private static List<KoreanName> extractFromJsonFiles() {
-        List<KoreanName> names = new ArrayList<>();
-        
-        try {
-            // Extract from korean_names_1000.json
-            String jsonContent = Files.readString(Paths.get("test_strings/korean_names_1000.json"));
-            JsonNode root = objectMapper.readTree(jsonContent);
-            
-            if (root.isArray()) {
-                for (JsonNode node : root) {
-                    if (node.has("fullNameHangul") && node.has("fullNameRomanized")) {
-                        String hangul = node.get("fullNameHangul").asText();
-                        String romanized = node.get("fullNameRomanized").asText();
-                        names.add(new KoreanName(hangul, romanized, "korean_names_1000.json"));
-                    }
-                }
+    /**
+     * Streams one source file into the shared set as it is read, keeping the earliest ordinal of
+     * each name, and counts its names. Names read before a failure stay in the set.
+     * 
+     * @return The number of names read from the file
+     */
+    private static int addUnique(int file, Path directory,
+                                 ConcurrentMap<NameKey, Occurrence> unique, ConcurrentMap<String, Integer> counts) {
+        long ordinal = (long) file << 32;
+        int count = 0;
+        try (Stream<KoreanName> names = SOURCE_EXTRACTORS.get(file).apply(directory.resolve(SOURCE_FILES.get(file)))) {
+            Iterator<KoreanName> iterator = names.iterator();
+            while (iterator.hasNext()) {
+                KoreanName name = iterator.next();
+                unique.merge(new NameKey(name.getHangul(), name.getRomanized()), new Occurrence(ordinal + count, name),
+                             (a, b) -> a.ordinal <= b.ordinal ? a : b);
+                count++;
+            }
+        } finally {
+            if (count > 0) {
+                counts.merge(SOURCE_FILES.get(file), count, Integer::sum);
             }
-            
-            System.out.printf("Extracted %d names from JSON files%n", names.size());
-            
-        } catch (Exception e) {
-            System.err.println("Error extracting from JSON: " + e.getMessage());
         }
-        
-        return names;
+        return count;
     }
     
-    private static List<KoreanName> extractFromHtmlFiles() {
-        List<KoreanName> names = new ArrayList<>();
+    /**
+     * Deduplication key of a name: its Hangul and romanization, compared without concatenating them.
+     */
+    private static final class NameKey {
+        private final String hangul;
+        private final String romanized;
+        private final int hash;
         
-        try {
-            // Extract from examples_korean_last_names_300.html
-            String lastNameContent = Files.readString(Paths.get("test_strings/examples_korean_last_names_300.html"));
-            names.addAll(extractLastNamesFromHtml(lastNameContent, "examples_korean_last_names_300.html"));
-            
-            // Extract from examples_korean_first_names_1000.html
-            String firstNameContent = Files.readString(Paths.get("test_strings/examples_korean_first_names_1000.html"));
-            names.addAll(extractFirstNamesFromHtml(firstNameContent, "examples_korean_first_names_1000.html"));
-            
-            System.out.printf("Extracted %d names from HTML files%n", names.size());
-            
-        } catch (Exception e) {
-            System.err.println("Error extracting from HTML: " + e.getMessage());
+        NameKey(String hangul, String romanized) {
+            this.hangul = hangul;
+            this.romanized = romanized;
+            // Combined like List.hashCode, so equal or swapped string hashes do not cancel
+            this.hash = 31 * Objects.hashCode(hangul) + Objects.hashCode(romanized);
         }
         
-        return names;
-    }
-    
-    private static List<KoreanName> extractFromTextFiles() {
-        List<KoreanName> names = new ArrayList<>();
-        
-        try {
-            // Extract from List of Korean surnames.txt
-            String surnameContent = Files.readString(Paths.get("test_strings/List of Korean surnames.txt"));
-            names.addAll(extractSurnamesFromText(surnameContent, "List of Korean surnames.txt"));
-            
-            // Extract from List of Korean given names.txt
-            String givenNameContent = Files.readString(Paths.get("test_strings/List of Korean given names.txt"));
-            names.addAll(extractGivenNamesFromText(givenNameContent, "List of Korean given names.txt"));
-            
-            // Extract from name_examples.txt
-            String examplesContent = Files.readString(Paths.get("test_strings/name_examples.txt"));
-            names.addAll(extractExamplesFromText(examplesContent, "name_examples.txt"));
-            
-            System.out.printf("Extracted %d names from text files%n", names.size());
-            
-        } catch (Exception e) {
-            System.err.println("Error extracting from text: " + e.getMessage());
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof NameKey)) {
+                return false;
+            }
+            NameKey other = (NameKey) o;
+            return hash == other.hash && Objects.equals(hangul, other.hangul) && Objects.equals(romanized, other.romanized);
         }
         
-        return names;
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
     
-    private static List<KoreanName> extractLastNamesFromHtml(String content, String source) {
-        List<KoreanName> names = new ArrayList<>();
-        
-        // Pattern to match: <strong>Kim</strong> – Gold  – 金
-        Pattern pattern = Pattern.compile("<strong>([^<]+)</strong>\\s*–\\s*([^–]+)\\s*–\\s*([^\\s]+)");
-        Matcher matcher = pattern.matcher(content);
+    /**
+     * A name and its position in a sequential read of all sources.
+     */
+    private static final class Occurrence {
+        final long ordinal;
+        final KoreanName name;
         
-        while (matcher.find()) {
-            String romanized = matcher.group(1).trim();
-            String meaning = matcher.group(2).trim();
-            String hanja = matcher.group(3).trim();
-            
-            // For surnames, we need to find the corresponding Hangul
-            // This is a simplified approach - in practice, you might need a mapping
-            if (romanized.equals("Kim")) names.add(new KoreanName("김", romanized, source));
-            else if (romanized.equals("Lee")) names.add(new KoreanName("이", romanized, source));
-            else if (romanized.equals("Park")) names.add(new KoreanName("박", romanized, source));
-            else if (romanized.equals("Jeong")) names.add(new KoreanName("정", romanized, source));
-            else if (romanized.equals("Choi")) names.add(new KoreanName("최", romanized, source));
-            else if (romanized.equals("Cho")) names.add(new KoreanName("조", romanized, source));
-            else if (romanized.equals("Kang")) names.add(new KoreanName("강", romanized, source));
-            else if (romanized.equals("Yoon")) names.add(new KoreanName("윤", romanized, source));
-            else if (romanized.equals("Jang")) names.add(new KoreanName("장", romanized, source));
-            else if (romanized.equals("Lim")) names.add(new KoreanName("임", romanized, source));
-            // Add more mappings as needed
+        Occurrence(long ordinal, KoreanName name) {
+            this.ordinal = ordinal;
+            this.name = name;
         }
-        
-        return names;
     }
     
-    private static List<KoreanName> extractFirstNamesFromHtml(String content, String source) {
-        List<KoreanName> names = new ArrayList<>();
-        
-        // Pattern to match: <strong>Ji-An</strong> – Wisdom and tranquility – 智安
-        Pattern pattern = Pattern.compile("<strong>([^<]+)</strong>\\s*–\\s*([^–]+)\\s*–\\s*([^\\s]+)");
-        Matcher matcher = pattern.matcher(content);
+    /**
+     * Extract the known spellings of each surname (rr, mr and other_romanizations) from the
+     * comprehensive dataset, for use with {@link NameVariants#of(String, Map)}
+     */
+    public static Map<String, List<String>> extractSurnameSpellings() {
+        Map<String, List<String>> spellings = new LinkedHashMap<>();
         
-        while (matcher.find()) {
-            String romanized = matcher.group(1).trim();
-            String meaning = matcher.group(2).trim();
-            String hanja = matcher.group(3).trim();
+        try (Stream<JsonNode> nodes = streamJsonArray(Paths.get("test_strings/korean_names_comprehensive.json"))) {
+            nodes.forEach(node -> {
+                if (!"korean_surnames".equals(node.path("source").asText()) || !node.has("hangul")) {
+                    return;
+                }
+                List<String> list = spellings.computeIfAbsent(node.get("hangul").asText(), k -> new ArrayList<>());
+                for (String field : new String[]{"rr", "mr", "other_romanizations"}) {
+                    for (String spelling : node.path(field).asText().split(",")) {
+                        if (!spelling.isBlank()) {
+                            list.add(spelling.trim());
+                        }
+                    }
+                }
+            });
             
-            // For given names, we need to find the corresponding Hangul
-            // This is a simplified approach - in practice, you might need a mapping
-            if (romanized.equals("Ji-An")) names.add(new KoreanName("지안", romanized, source));
-            else if (romanized.equals("Ha-Yoon")) names.add(new KoreanName("하윤", romanized, source));
-            else if (romanized.equals("Seo-Ah")) names.add(new KoreanName("서아", romanized, source));
-            else if (romanized.equals("Ha-Eun")) names.add(new KoreanName("하은", romanized, source));
-            else if (romanized.equals("Seo-Yun")) names.add(new KoreanName("서윤", romanized, source));
-            else if (romanized.equals("Ha-Rin")) names.add(new KoreanName("하린", romanized, source));
-            else if (romanized.equals("Ji-Yoo")) names.add(new KoreanName("지유", romanized, source));
-            else if (romanized.equals("Ji-Woo")) names.add(new KoreanName("지우", romanized, source));
-            else if (romanized.equals("Soo-Ah")) names.add(new KoreanName("수아", romanized, source));
-            else if (romanized.equals("Ji-a")) names.add(new KoreanName("지아", romanized, source));
-            // Add more mappings as needed
+        } catch (Exception e) {
+            System.err.println("Error extracting surname spellings: " + e.getMessage());
         }
         
-        return names;
+        return spellings;
     }
     
-    private static List<KoreanName> extractSurnamesFromText(String content, String source) {
-        List<KoreanName> names = new ArrayList<>();
-        
-        // Pattern to match: 김	金, 钅 [sic]	Gim	Kim	Ghim,[3] Kin[3]	10,689,967	21.5065%
-        // Updated pattern to handle the tab-separated format better
-        Pattern pattern = Pattern.compile("([가-힣]+)\\s+([^\\t]+)\\s+([^\\t]+)\\s+([^\\t]+)");
-        Matcher matcher = pattern.matcher(content);
-        
-        while (matcher.find()) {
-            String hangul = matcher.group(1).trim();
-            String hanja = matcher.group(2).trim();
-            String rr = matcher.group(3).trim();
-            String mr = matcher.group(4).trim();
-            
-            // Use RR (Revised Romanization) as the standard
-            names.add(new KoreanName(hangul, rr, source));
-        }
-        
-        return names;
+    /**
+     * Stream all Korean names from all files in the test_strings directory, without loading
+     * any file whole. Unlike {@link #extractAllNames()}, duplicates are kept and a missing
+     * or unreadable file fails the stream with an {@link UncheckedIOException}.
+     * The stream must be closed to release the files.
+     */
+    public static Stream<KoreanName> streamAllNames() {
+        return streamAllNames(Paths.get("test_strings"));
     }
     
-    private static List<KoreanName> extractGivenNamesFromText(String content, String source) {
-        List<KoreanName> names = new ArrayList<>();
-        
-        // Pattern to match: Ga-young (가영)
-        Pattern pattern = Pattern.compile("([A-Za-z-]+)\\s*\\(([가-힣]+)\\)");
-        Matcher matcher = pattern.matcher(content);
-        
-        while (matcher.find()) {
-            String romanized = matcher.group(1).trim();
-            String hangul = matcher.group(2).trim();
-            
-            names.add(new KoreanName(hangul, romanized, source));
+    /**
+     * Stream all Korean names from the source files of a directory laid out like test_strings.
+     * 
+     * @param directory The directory holding the source files
+     * @return The names, in file order; the stream must be closed
+     */
+    static Stream<KoreanName> streamAllNames(Path directory) {
+        // Each source is opened when the previous one is exhausted, and closed right after
+        return Stream.iterate(0, i -> i < SOURCE_FILES.size(), i -> i + 1)
+            .flatMap(i -> SOURCE_EXTRACTORS.get(i).apply(directory.resolve(SOURCE_FILES.get(i))));
+    }
+    
+    /**
+     * Stream the names of a JSON array of objects with fullNameHangul and fullNameRomanized fields,
+     * parsing one element at a time.
+     */
+    public static Stream<KoreanName> streamJsonNames(Path file) {
+        String source = file.getFileName().toString();
+        return streamJsonArray(file)
+            .filter(node -> node.has("fullNameHangul") && node.has("fullNameRomanized"))
+            .map(node -> new KoreanName(node.get("fullNameHangul").asText(), node.get("fullNameRomanized").asText(), source));
+    }
+    
+    /**
+     * Stream the surnames of an HTML examples page, e.g. <strong>Kim</strong> – Gold – 金
+     */
+    public static Stream<KoreanName> streamHtmlSurnames(Path file) {
+        return streamHtmlNames(file, HTML_SURNAMES);
+    }
+    
+    /**
+     * Stream the given names of an HTML examples page, e.g. <strong>Ji-An</strong> – Wisdom and tranquility – 智安
+     */
+    public static Stream<KoreanName> streamHtmlGivenNames(Path file) {
+        return streamHtmlNames(file, HTML_GIVEN_NAMES);
+    }
+    
+    private static Stream<KoreanName> streamHtmlNames(Path file, Map<String, String> hangul) {
+        String source = file.getFileName().toString();
+        // The pages only give romanizations, so only names with a known Hangul form are kept
+        return streamMatches(file, HTML_NAME_PATTERN)
+            .map(match -> match.group(1).trim())
+            .filter(hangul::containsKey)
+            .map(romanized -> new KoreanName(hangul.get(romanized), romanized, source));
+    }
+    
+    /**
+     * Stream the surnames of a tab-separated surname list, using the Revised Romanization column.
+     */
+    public static Stream<KoreanName> streamTextSurnames(Path file) {
+        String source = file.getFileName().toString();
+        return streamMatches(file, SURNAME_TEXT_PATTERN)
+            .map(match -> new KoreanName(match.group(1).trim(), match.group(3).trim(), source));
+    }
+    
+    /**
+     * Stream the names of a given name list, e.g. Ga-young (가영)
+     */
+    public static Stream<KoreanName> streamTextGivenNames(Path file) {
+        return streamParenthesized(file, GIVEN_NAME_TEXT_PATTERN);
+    }
+    
+    /**
+     * Stream the names of an examples list, e.g. Jimin (지민) – Popularized by BTS's Park Jimin
+     */
+    public static Stream<KoreanName> streamTextExamples(Path file) {
+        return streamParenthesized(file, EXAMPLE_TEXT_PATTERN);
+    }
+    
+    private static Stream<KoreanName> streamParenthesized(Path file, Pattern pattern) {
+        String source = file.getFileName().toString();
+        return streamMatches(file, pattern)
+            .map(match -> new KoreanName(match.group(2).trim(), match.group(1).trim(), source));
+    }
+    
+    /**
+     * Stream the matches of a pattern in a file. The scanner only buffers as much of the file
+     * as the current match needs, and matches are the same as over the whole content.
+     */
+    private static Stream<MatchResult> streamMatches(Path file, Pattern pattern) {
+        Scanner scanner;
+        try {
+            scanner = new Scanner(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
         }
-        
-        return names;
+        return scanner.findAll(pattern).onClose(scanner::close);
     }
     
-    private static List<KoreanName> extractExamplesFromText(String content, String source) {
-        List<KoreanName> names = new ArrayList<>();
-        
-        // Pattern to match: Jimin (지민) – Popularized by BTS's Park Jimin
-        Pattern pattern = Pattern.compile("([A-Za-z]+)\\s*\\(([가-힣]+)\\)");
-        Matcher matcher = pattern.matcher(content);
-        
-        while (matcher.find()) {
-            String romanized = matcher.group(1).trim();
-            String hangul = matcher.group(2).trim();
-            
-            names.add(new KoreanName(hangul, romanized, source));
+    /**
+     * Stream the elements of a top-level JSON array, reading one element at a time with
+     * the streaming parser. Anything other than an array yields no elements.
+     */
+    private static Stream<JsonNode> streamJsonArray(Path file) {
+        JsonParser parser;
+        try {
+            parser = openJsonArray(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        }
+        if (parser == null) {
+            return Stream.empty();
         }
         
-        return names;
+        Spliterator<JsonNode> elements = new Spliterators.AbstractSpliterator<JsonNode>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super JsonNode> action) {
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        return false;
+                    }
+                    JsonNode node = parser.readValueAsTree();
+                    action.accept(node != null ? node : NullNode.getInstance());
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(elements, false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
     
-    private static List<KoreanName> removeDuplicates(List<KoreanName> names) {
-        Map<String, KoreanName> uniqueNames = new LinkedHashMap<>();
-        
-        for (KoreanName name : names) {
-            String key = name.getHangul() + "|" + name.getRomanized();
-            if (!uniqueNames.containsKey(key)) {
-                uniqueNames.put(key, name);
+    /**
+     * Opens a JSON file positioned on the start of its top-level array. The file is closed
+     * again if it holds no array or cannot be parsed (empty, truncated or malformed).
+     * 
+     * @return The parser, or null if the top-level value is not an array
+     */
+    private static JsonParser openJsonArray(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        JsonParser parser = null;
+        try {
+            parser = objectMapper.getFactory().createParser(in);
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                return parser;
             }
+        } catch (IOException | RuntimeException e) {
+            try {
+                (parser != null ? parser : in).close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
         }
-        
-        return new ArrayList<>(uniqueNames.values());
+        parser.close();
+        return null;
     }
     
     /**
@@ -0,0 +1,460 @@
+package com.koreanromanizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The space of Latin spellings of a Hangul name, held as a per-syllable automaton.
+ * Each syllable contributes a small trie of its spellings, and the tries are chained so that
+ * the end of any spelling of one syllable leads to the start of the next. Matching a Latin
+ * string walks the automaton once, so the cartesian product of spellings is never built.
+ * Spellings can also be enumerated lazily in descending likelihood for candidate generation.
+ */
+public final class NameVariants {
+    private static final int ALPHABET = 26;
+    private static final int NOT_TERMINAL = -1;
+    private static final int SEPARATOR = -2;
+
+    private final String hangul;
+    private final List<List<String>> spellings;
+    // Per-syllable probability of each spelling, parallel to spellings and descending
+    private final double[][] likelihoods;
+
+    // Dense trie transitions, indexed by node * ALPHABET + letter; 0 means no transition
+    private int[] transitions;
+    // For each node, the index of the syllable whose spelling ends there, or NOT_TERMINAL
+    private int[] terminal;
+    private int nodeCount;
+    private final int[] roots;
+
+    private NameVariants(String hangul, List<List<String>> spellings, double[][] likelihoods) {
+        this.hangul = hangul;
+        this.spellings = spellings;
+        this.likelihoods = likelihoods;
+        this.roots = new int[spellings.size()];
+        this.transitions = new int[64 * ALPHABET];
+        this.terminal = new int[64];
+        for (int i = 0; i < spellings.size(); i++) {
+            roots[i] = newNode();
+            for (String spelling : spellings.get(i)) {
+                insert(i, spelling);
+            }
+        }
+    }
+
+    /**
+     * Builds the variant space of a Hangul name. The first syllable is treated as the surname.
+     *
+     * @param hangul The Hangul name, e.g. "김민준"; characters other than Hangul syllables are ignored
+     * @return The variant automaton for the name
+     */
+    public static NameVariants of(String hangul) {
+        return of(hangul, Collections.emptyMap());
+    }
+
+    /**
+     * Builds the variant space of a Hangul name with additional surname spellings,
+     * such as the rr, mr and other_romanizations fields of the surname dataset.
+     *
+     * @param hangul The Hangul name, e.g. "김민준"; characters other than Hangul syllables are ignored
+     * @param surnameSpellings Extra spellings keyed by Hangul surname, e.g. "김" to ["Kim", "Ghim"]
+     * @return The variant automaton for the name
+     */
+    public static NameVariants of(String hangul, Map<String, ? extends Collection<String>> surnameSpellings) {
+        StringBuilder syllables = new StringBuilder();
+        for (int i = 0; i < hangul.length(); i++) {
+            if (Syllable.isHangul(hangul.charAt(i))) {
+                syllables.append(hangul.charAt(i));
+            }
+        }
+
+        List<Map<String, Double>> scores = new ArrayList<>();
+        for (int i = 0; i < syllables.length(); i++) {
+            scores.add(new LinkedHashMap<>());
+        }
+
+        // Dictionary given names contribute one spelling per syllable when they split evenly
+        if (syllables.length() > 1) {
+            String given = KoreanRomanizer.lookupGivenName(syllables.substring(1));
+            if (given != null) {
+                String[] parts = given.split("[\\s-]+");
+                if (parts.length == syllables.length() - 1) {
+                    for (int i = 0; i < parts.length; i++) {
+                        SyllableSpellings.addScore(scores.get(i + 1), normalize(parts[i]),
+                            SyllableSpellings.GIVEN_NAME_WEIGHT);
+                    }
+                }
+            }
+        }
+
+        if (syllables.length() > 0) {
+            Collection<String> extra = surnameSpellings.get(syllables.substring(0, 1));
+            if (extra != null) {
+                List<String> normalized = new ArrayList<>();
+                for (String spelling : extra) {
+                    normalized.add(normalize(spelling));
+                }
+                SyllableSpellings.addRanked(scores.get(0), normalized, SyllableSpellings.DATASET_WEIGHT);
+            }
+        }
+
+        List<List<String>> spellings = new ArrayList<>();
+        double[][] likelihoods = new double[syllables.length()][];
+        for (int i = 0; i < syllables.length(); i++) {
+            Map<String, Double> syllableScores = scores.get(i);
+            SyllableSpellings.addScores(syllables.charAt(i), i == 0, syllableScores);
+            syllableScores.remove("");
+            List<String> ranked = SyllableSpellings.ranked(syllableScores);
+
+            double total = 0;
+            for (double score : syllableScores.values()) {
+                total += score;
+            }
+            likelihoods[i] = new double[ranked.size()];
+            for (int j = 0; j < ranked.size(); j++) {
+                likelihoods[i][j] = syllableScores.get(ranked.get(j)) / total;
+            }
+            spellings.add(Collections.unmodifiableList(ranked));
+        }
+        return new NameVariants(syllables.toString(), Collections.unmodifiableList(spellings), likelihoods);
+    }
+
+    /**
+     * Tests whether a Latin string is one of the spellings of the name.
+     * Matching ignores case, spaces, hyphens, apostrophes and periods, and folds the
+     * McCune-Reischauer breves (ŏ, ŭ) to plain vowels. It runs in a single pass over the input.
+     *
+     * @param latin The Latin string, e.g. "Kim Min-joon"
+     * @return true if the string spells the name under some combination of syllable variants
+     */
+    public boolean matches(CharSequence latin) {
+        if (roots.length == 0) {
+            return false;
+        }
+
+        int words = (nodeCount + 63) >>> 6;
+        long[] active = new long[words];
+        long[] next = new long[words];
+        active[roots[0] >>> 6] |= 1L << roots[0];
+        int last = roots.length - 1;
+        boolean accepted = false;
+
+        for (int i = 0; i < latin.length(); i++) {
+            int letter = letterIndex(latin.charAt(i));
+            if (letter == SEPARATOR) {
+                continue;
+            }
+            if (letter < 0) {
+                return false;
+            }
+
+            Arrays.fill(next, 0L);
+            boolean any = false;
+            accepted = false;
+            for (int w = 0; w < words; w++) {
+                long bits = active[w];
+                while (bits != 0) {
+                    int node = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int target = transitions[node * ALPHABET + letter];
+                    if (target == 0) {
+                        continue;
+                    }
+                    next[target >>> 6] |= 1L << target;
+                    any = true;
+                    int syllable = terminal[target];
+                    if (syllable == last) {
+                        accepted = true;
+                    } else if (syllable != NOT_TERMINAL) {
+                        int root = roots[syllable + 1];
+                        next[root >>> 6] |= 1L << root;
+                    }
+                }
+            }
+            if (!any) {
+                return false;
+            }
+            long[] swap = active;
+            active = next;
+            next = swap;
+        }
+        return accepted;
+    }
+
+    /**
+     * Lazily enumerates full spellings of the name in descending likelihood, formatted as
+     * "Kim Minjun". The likelihood of a spelling is the product of its per-syllable likelihoods.
+     *
+     * @return An iterator whose cost grows with the number of spellings taken, not the variant space
+     */
+    public Iterator<String> spellings() {
+        return spellings("");
+    }
+
+    /**
+     * Lazily enumerates full spellings of the name in descending likelihood.
+     * The surname is separated from the given name by a space, and the given name syllables
+     * are joined with the supplied separator, e.g. "-" gives "Kim Min-Jun".
+     *
+     * @param givenNameSeparator The separator between given name syllables
+     * @return An iterator whose cost grows with the number of spellings taken, not the variant space
+     */
+    public Iterator<String> spellings(String givenNameSeparator) {
+        return new BestFirstIterator(givenNameSeparator);
+    }
+
+    /**
+     * Streams full spellings of the name in descending likelihood, e.g. for
+     * {@code variants.spellingStream().limit(3)}.
+     *
+     * @return A sequential, lazily evaluated stream of distinct spellings
+     */
+    public Stream<String> spellingStream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(spellings(),
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Gets the number of distinct full spellings represented, without enumerating them.
+     *
+     * @return The product of the per-syllable spelling counts, saturating at Long.MAX_VALUE
+     */
+    public long variantCount() {
+        if (spellings.isEmpty()) {
+            return 0;
+        }
+        long count = 1;
+        for (List<String> syllable : spellings) {
+            if (count > Long.MAX_VALUE / Math.max(1, syllable.size())) {
+                return Long.MAX_VALUE;
+            }
+            count *= syllable.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the Hangul syllables the variants were built from.
+     *
+     * @return The name with non-syllable characters removed
+     */
+    public String getHangul() {
+        return hangul;
+    }
+
+    /**
+     * Gets the lower-case spellings of one syllable, most likely first.
+     *
+     * @param index The syllable index
+     * @return The spellings of that syllable
+     */
+    public List<String> getSpellings(int index) {
+        return spellings.get(index);
+    }
+
+    /**
+     * Gets the probability of one spelling of one syllable.
+     *
+     * @param index The syllable index
+     * @param rank The position of the spelling in {@link #getSpellings(int)}
+     * @return The likelihood, between 0 and 1
+     */
+    public double getLikelihood(int index, int rank) {
+        return likelihoods[index][rank];
+    }
+
+    /**
+     * Gets the number of syllables in the name.
+     *
+     * @return The syllable count
+     */
+    public int syllableCount() {
+        return spellings.size();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(hangul).append(' ');
+        for (List<String> syllable : spellings) {
+            sb.append('(').append(String.join("|", syllable)).append(')');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Best-first walk over the grid of per-syllable spelling ranks. A state is a vector of ranks;
+     * its successors each advance one rank at or after the position advanced last, so every
+     * vector is queued exactly once and never before its predecessor.
+     */
+    private final class BestFirstIterator implements Iterator<String> {
+        private final String separator;
+        private final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        private final Set<String> emitted = new HashSet<>();
+        private String pending;
+
+        BestFirstIterator(String separator) {
+            this.separator = separator;
+            if (!spellings.isEmpty()) {
+                for (double[] syllable : likelihoods) {
+                    if (syllable.length == 0) {
+                        return;
+                    }
+                }
+                int[] ranks = new int[spellings.size()];
+                queue.add(new Candidate(ranks, 0, likelihood(ranks)));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null && !queue.isEmpty()) {
+                Candidate candidate = queue.poll();
+                for (int i = candidate.advanced; i < candidate.ranks.length; i++) {
+                    int rank = candidate.ranks[i];
+                    if (rank + 1 < likelihoods[i].length) {
+                        int[] ranks = candidate.ranks.clone();
+                        ranks[i] = rank + 1;
+                        queue.add(new Candidate(ranks, i, likelihood(ranks)));
+                    }
+                }
+                String spelling = format(candidate.ranks);
+                if (emitted.add(spelling)) {
+                    pending = spelling;
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String result = pending;
+            pending = null;
+            return result;
+        }
+
+        private double likelihood(int[] ranks) {
+            double likelihood = 1;
+            for (int i = 0; i < ranks.length; i++) {
+                likelihood *= likelihoods[i][ranks[i]];
+            }
+            return likelihood;
+        }
+
+        private String format(int[] ranks) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < ranks.length; i++) {
+                if (i == 1) {
+                    sb.append(' ');
+                } else if (i > 1) {
+                    sb.append(separator);
+                }
+                int start = sb.length();
+                sb.append(spellings.get(i).get(ranks[i]));
+                if (i < 2 || !separator.isEmpty()) {
+                    sb.setCharAt(start, Character.toUpperCase(sb.charAt(start)));
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        final int[] ranks;
+        final int advanced;
+        final double likelihood;
+
+        Candidate(int[] ranks, int advanced, double likelihood) {
+            this.ranks = ranks;
+            this.advanced = advanced;
+            this.likelihood = likelihood;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Double.compare(other.likelihood, likelihood);
+        }
+    }
+
+    /**
+     * Maps a Latin character to its letter index, SEPARATOR for ignorable punctuation, or -1.
+     */
+    private static int letterIndex(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        switch (c) {
+            case ' ': case '-': case '\'': case '’': case '.':
+                return SEPARATOR;
+            case 'ŏ': case 'Ŏ':
+                return 'o' - 'a';
+            case 'ŭ': case 'Ŭ':
+                return 'u' - 'a';
+            default:
+                return -1;
+        }
+    }
+
+    private static String normalize(String spelling) {
+        StringBuilder sb = new StringBuilder(spelling.length());
+        for (int i = 0; i < spelling.length(); i++) {
+            int letter = letterIndex(spelling.charAt(i));
+            if (letter >= 0) {
+                sb.append((char) ('a' + letter));
+            } else if (letter != SEPARATOR) {
+                return "";
+            }
+        }
+        return sb.toString();
+    }
+
+    private void insert(int syllable, String spelling) {
+        int node = roots[syllable];
+        for (int i = 0; i < spelling.length(); i++) {
+            int letter = letterIndex(spelling.charAt(i));
+            if (letter == SEPARATOR) {
+                continue;
+            }
+            if (letter < 0) {
+                return;
+            }
+            int slot = node * ALPHABET + letter;
+            if (transitions[slot] == 0) {
+                int child = newNode();
+                transitions[slot] = child;
+            }
+            node = transitions[slot];
+        }
+        if (node != roots[syllable]) {
+            terminal[node] = syllable;
+        }
+    }
+
+    private int newNode() {
+        if (nodeCount == terminal.length) {
+            terminal = Arrays.copyOf(terminal, nodeCount * 2);
+            transitions = Arrays.copyOf(transitions, nodeCount * 2 * ALPHABET);
+        }
+        terminal[nodeCount] = NOT_TERMINAL;
+        return nodeCount++;
+    }
+}
@@ -0,0 +1,474 @@
+package com.koreanromanizer;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A romanization cache that persists across runs, for batch jobs that romanize largely the
+ * same input every time.
+ *
+ * Results are appended to a log file; an index file next to it maps each (text, method) to
+ * its record in the log with an open-addressing hash table that is memory-mapped and updated
+ * in place. Both files carry a fingerprint of {@link KoreanRomanizer#ENGINE_VERSION}, the
+ * romanization methods and the name dictionaries: when the fingerprint changes the cache is
+ * emptied on open, so stale results are never returned. The log is the source of truth; a
+ * missing, stale or mismatched index is rebuilt from it, and a record cut short by a crash
+ * is dropped.
+ *
+ * All methods are thread-safe. Lookups share a read lock and read records from a memory-mapped
+ * view of the log, so pipeline threads hitting the cache do not wait for each other; only
+ * appending a new result takes the write lock. The log is locked while the cache is open, so
+ * a second open of the same cache, from this process or another, fails.
+ *
+ * <pre>
+ * try (PersistentCache cache = PersistentCache.open(Paths.get("names.cache"))) {
+ *     String romanized = cache.romanize("김민준", RomanizationMethod.FULL_NAME);
+ * }
+ * </pre>
+ */
+public final class PersistentCache implements Closeable {
+    private static final int LOG_MAGIC = 0x4B524D4C; // "KRML"
+    private static final int INDEX_MAGIC = 0x4B524D49; // "KRMI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int LOG_HEADER_SIZE = 16;
+    // Magic, version, fingerprint, indexed log size, slot count, entry count
+    private static final int INDEX_HEADER_SIZE = 32;
+    // Hash, then the log offset of the record (0 for an empty slot)
+    private static final int SLOT_SIZE = 12;
+    // Input length, method ordinal, output length
+    private static final int RECORD_HEADER_SIZE = 9;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private static final long FINGERPRINT = fingerprint();
+
+    private final Path logFile;
+    private final Path indexFile;
+    private final FileChannel log;
+    private final ReadWriteLock access = new ReentrantReadWriteLock();
+    // Read-only view of the start of the log; records past its end are read from the channel
+    private MappedByteBuffer view;
+    private long logSize;
+    private MappedByteBuffer index;
+    private int slots;
+    private int entries;
+
+    private PersistentCache(Path logFile) throws IOException {
+        this.logFile = logFile;
+        this.indexFile = logFile.resolveSibling(logFile.getFileName() + ".index");
+        this.log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = log.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Cache is already open: " + logFile);
+            }
+            openLog();
+            openIndex();
+            mapLog();
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a cache, creating it if it does not exist and emptying it if it was written by
+     * another engine version or with other dictionaries.
+     *
+     * @param file The log file; the index is kept in the same directory with an ".index" suffix
+     * @return The cache
+     * @throws IOException if the files cannot be read or written, or the cache is already open
+     */
+    public static PersistentCache open(Path file) throws IOException {
+        return new PersistentCache(file);
+    }
+
+    /**
+     * Computes the fingerprint of everything that determines a result: the engine version,
+     * the romanization methods and the name dictionaries (64-bit FNV-1a).
+     */
+    private static long fingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        StringBuilder content = new StringBuilder(KoreanRomanizer.ENGINE_VERSION);
+        for (RomanizationMethod method : RomanizationMethod.values()) {
+            content.append('\0').append(method.getMethodName());
+        }
+        for (Map.Entry<String, Map<String, String>> table : KoreanRomanizer.dictionaryTables().entrySet()) {
+            content.append('\0').append(table.getKey());
+            for (Map.Entry<String, String> entry : new TreeMap<>(table.getValue()).entrySet()) {
+                content.append('\0').append(entry.getKey()).append('\0').append(entry.getValue());
+            }
+        }
+        for (int i = 0; i < content.length(); i++) {
+            hash = (hash ^ content.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Checks the log header, resetting the log if it is missing or was written with another fingerprint.
+     */
+    private void openLog() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        if (log.size() < LOG_HEADER_SIZE || !readFully(header, 0)
+                || header.getInt(0) != LOG_MAGIC || header.getInt(4) != FORMAT_VERSION || header.getLong(8) != FINGERPRINT) {
+            log.truncate(0);
+            header.clear();
+            header.putInt(LOG_MAGIC).putInt(FORMAT_VERSION).putLong(FINGERPRINT).flip();
+            writeFully(header, 0);
+            Files.deleteIfExists(indexFile);
+        }
+        logSize = log.size();
+    }
+
+    /**
+     * Maps the index, rebuilding it if it does not match the log, then indexes any records
+     * appended after it was last updated.
+     */
+    private void openIndex() throws IOException {
+        long indexed = LOG_HEADER_SIZE;
+        if (Files.exists(indexFile)) {
+            mapIndex(indexFile);
+            if (index != null && index.getInt(0) == INDEX_MAGIC && index.getInt(4) == FORMAT_VERSION && index.getLong(8) == FINGERPRINT
+                    && index.getLong(16) <= logSize && slots > 0 && Integer.bitCount(slots) == 1
+                    && index.capacity() == INDEX_HEADER_SIZE + (long) slots * SLOT_SIZE) {
+                indexed = index.getLong(16);
+            } else {
+                index = null;
+            }
+        }
+        if (index == null) {
+            createIndex(INITIAL_SLOTS, null);
+        }
+
+        // Index records appended since the index was last updated, dropping a truncated last record
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        long offset = indexed;
+        while (offset < logSize) {
+            header.clear();
+            if (!readFully(header, offset)) {
+                break;
+            }
+            long end = offset + RECORD_HEADER_SIZE + header.getInt(0) + header.getInt(5);
+            if (header.getInt(0) < 0 || header.getInt(5) < 0 || end > logSize) {
+                break;
+            }
+            Record record = readRecord(offset);
+            insert(hash(record.text, record.method), offset, record.text.getBytes(StandardCharsets.UTF_8), record.method);
+            offset = end;
+        }
+        if (offset < logSize) {
+            log.truncate(offset);
+            logSize = offset;
+        }
+        index.putLong(16, logSize);
+    }
+
+    /**
+     * Maps the log as it is now, up to the largest size a buffer can map.
+     */
+    private void mapLog() throws IOException {
+        view = log.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(logSize, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Maps an index file, leaving the index unset if the file is too short or too long to be one.
+     */
+    private void mapIndex(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < INDEX_HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return;
+            }
+            index = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            slots = index.getInt(24);
+            entries = index.getInt(28);
+        }
+    }
+
+    /**
+     * Creates an empty index, or a larger copy of the current one, and replaces the index file.
+     */
+    private void createIndex(int slotCount, MappedByteBuffer previous) throws IOException {
+        long size = INDEX_HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Cache index too large: " + slotCount + " slots");
+        }
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer created = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            created.putInt(0, INDEX_MAGIC).putInt(4, FORMAT_VERSION).putLong(8, FINGERPRINT)
+                   .putLong(16, previous == null ? LOG_HEADER_SIZE : previous.getLong(16))
+                   .putInt(24, slotCount).putInt(28, previous == null ? 0 : entries);
+            if (previous != null) {
+                for (int slot = 0; slot < slots; slot++) {
+                    long offset = previous.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 4);
+                    if (offset != 0) {
+                        int hash = previous.getInt(INDEX_HEADER_SIZE + slot * SLOT_SIZE);
+                        int target = hash & (slotCount - 1);
+                        while (created.getLong(INDEX_HEADER_SIZE + target * SLOT_SIZE + 4) != 0) {
+                            target = (target + 1) & (slotCount - 1);
+                        }
+                        created.putInt(INDEX_HEADER_SIZE + target * SLOT_SIZE, hash)
+                               .putLong(INDEX_HEADER_SIZE + target * SLOT_SIZE + 4, offset);
+                    }
+                }
+            }
+            created.force();
+            index = created;
+            slots = slotCount;
+            if (previous == null) {
+                entries = 0;
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int hash(String text, RomanizationMethod method) {
+        int h = text.hashCode() * 31 + method.ordinal();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets a cached romanization.
+     *
+     * @param text The Korean text
+     * @param method The romanization method
+     * @return The cached result, or null if the text has not been romanized with the method
+     * @throws IOException if the log cannot be read
+     */
+    public String get(String text, RomanizationMethod method) throws IOException {
+        access.readLock().lock();
+        try {
+            checkOpen();
+            byte[] key = text.getBytes(StandardCharsets.UTF_8);
+            int hash = hash(text, method);
+            for (int slot = hash & (slots - 1); ; slot = (slot + 1) & (slots - 1)) {
+                long offset = index.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 4);
+                if (offset == 0) {
+                    return null;
+                }
+                if (index.getInt(INDEX_HEADER_SIZE + slot * SLOT_SIZE) == hash && keyEquals(offset, key, method)) {
+                    return readRecord(offset).romanized;
+                }
+            }
+        } finally {
+            access.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a romanization, appending it to the log unless the same result is already cached.
+     *
+     * @param text The Korean text
+     * @param method The romanization method
+     * @param romanized The result
+     * @throws IOException if the log or index cannot be written
+     */
+    public void put(String text, RomanizationMethod method, String romanized) throws IOException {
+        access.writeLock().lock();
+        try {
+            checkOpen();
+            if (romanized.equals(get(text, method))) {
+                return;
+            }
+            byte[] key = text.getBytes(StandardCharsets.UTF_8);
+            byte[] value = romanized.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + key.length + value.length);
+            record.putInt(key.length).put((byte) method.ordinal()).putInt(value.length).put(key).put(value).flip();
+            long offset = logSize;
+            writeFully(record, offset);
+            logSize += record.capacity();
+            insert(hash(text, method), offset, key, method);
+            index.putLong(16, logSize);
+            // Remap once the log has doubled, so most records are read from the view
+            if (logSize >= 2L * view.capacity() && view.capacity() < Integer.MAX_VALUE) {
+                mapLog();
+            }
+        } finally {
+            access.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a cached romanization, romanizing and recording the text on a miss.
+     *
+     * @param text The Korean text
+     * @param method The romanization method
+     * @return The romanized text
+     * @throws IOException if the cache cannot be read or written
+     */
+    public String romanize(String text, RomanizationMethod method) throws IOException {
+        return romanize(text, method, new StringBuilder());
+    }
+
+    /**
+     * Gets a cached romanization, romanizing with a reusable scratch buffer on a miss.
+     */
+    String romanize(String text, RomanizationMethod method, StringBuilder scratch) throws IOException {
+        if (text == null) {
+            return null;
+        }
+        String romanized = get(text, method);
+        if (romanized == null) {
+            romanized = method.romanize(text, scratch);
+            put(text, method, romanized);
+        }
+        return romanized;
+    }
+
+    /**
+     * Gets the number of cached results.
+     */
+    public int size() {
+        access.readLock().lock();
+        try {
+            return entries;
+        } finally {
+            access.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a record to the index, replacing the record of an equal key.
+     */
+    private void insert(int hash, long offset, byte[] key, RomanizationMethod method) throws IOException {
+        if ((entries + 1) * 2L > slots) {
+            createIndex(slots * 2, index);
+        }
+        int slot = hash & (slots - 1);
+        while (true) {
+            long existing = index.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 4);
+            if (existing == 0) {
+                entries++;
+                index.putInt(28, entries);
+                break;
+            }
+            if (index.getInt(INDEX_HEADER_SIZE + slot * SLOT_SIZE) == hash && keyEquals(existing, key, method)) {
+                break;
+            }
+            slot = (slot + 1) & (slots - 1);
+        }
+        index.putInt(INDEX_HEADER_SIZE + slot * SLOT_SIZE, hash).putLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 4, offset);
+    }
+
+    private boolean keyEquals(long offset, byte[] key, RomanizationMethod method) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        if (!readFully(header, offset) || header.getInt(0) != key.length || header.get(4) != method.ordinal()) {
+            return false;
+        }
+        ByteBuffer stored = ByteBuffer.allocate(key.length);
+        return readFully(stored, offset + RECORD_HEADER_SIZE) && Arrays.equals(stored.array(), key);
+    }
+
+    private Record readRecord(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        if (!readFully(header, offset)) {
+            throw new EOFException("Cache record past the end of " + logFile);
+        }
+        ByteBuffer body = ByteBuffer.allocate(header.getInt(0) + header.getInt(5));
+        if (!readFully(body, offset + RECORD_HEADER_SIZE)) {
+            throw new EOFException("Cache record past the end of " + logFile);
+        }
+        int ordinal = header.get(4);
+        if (ordinal < 0 || ordinal >= RomanizationMethod.values().length) {
+            throw new IOException("Corrupt cache record at " + offset + " in " + logFile);
+        }
+        byte[] bytes = body.array();
+        return new Record(new String(bytes, 0, header.getInt(0), StandardCharsets.UTF_8),
+                          RomanizationMethod.values()[ordinal],
+                          new String(bytes, header.getInt(0), header.getInt(5), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the log at an offset until the buffer is full, from the mapped view where it
+     * covers the range.
+     *
+     * @return false if the log ends first
+     */
+    private boolean readFully(ByteBuffer buffer, long offset) throws IOException {
+        if (view != null && offset + buffer.remaining() <= view.capacity()) {
+            while (buffer.hasRemaining()) {
+                buffer.put(view.get((int) offset + buffer.position()));
+            }
+            return true;
+        }
+        while (buffer.hasRemaining()) {
+            int read = log.read(buffer, offset + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            log.write(buffer, offset + buffer.position());
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (!log.isOpen()) {
+            throw new IOException("Cache is closed: " + logFile);
+        }
+    }
+
+    /**
+     * Flushes the log and index to disk and closes the log.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void close() throws IOException {
+        access.writeLock().lock();
+        try {
+            if (log.isOpen()) {
+                try {
+                    log.force(false);
+                    index.force();
+                } finally {
+                    // Closing the channel also releases the file lock
+                    log.close();
+                }
+            }
+        } finally {
+            access.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A record read back from the log.
+     */
+    private static final class Record {
+        final String text;
+        final RomanizationMethod method;
+        final String romanized;
+
+        Record(String text, RomanizationMethod method, String romanized) {
+            this.text = text;
+            this.method = method;
+            this.romanized = romanized;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.koreanromanizer;
+
+/**
+ * Phonetic fingerprints of Korean names, packed into a long, for deduplicating records across
+ * spelling variants (Kim/Gim, Lee/Yi/Rhee, Jeong/Jung/Chung, Choi/Choe, ae/e).
+ *
+ * A name, in Hangul or in any common romanization, is reduced to a sequence of sound classes:
+ * vowels A E I O (with ㅓ, ㅜ and ㅡ all in O), the glides W and Y, the consonants K T P J S L
+ * N M H, and G for the ng sound. Plain, tense and aspirated consonants share a class, as do r
+ * and l. Hangul is read by jamo, Latin text by its spellings of them. Both then follow the same
+ * rules:
+ * <ul>
+ *   <li>an L that starts the name is dropped before I or Y and reads N before other vowels
+ *       (리 and 이, Rhee and Lee; 로 and 노, Roh and No)</li>
+ *   <li>Y is dropped before I (Yi, Yim), and W before O (Woo for 우)</li>
+ *   <li>H is dropped after a vowel unless a vowel follows (Oh, Ahn, Suh)</li>
+ *   <li>N before K reads G, matching the ng spelling (Hangeul, Eungyeong)</li>
+ *   <li>repeated classes collapse (Kimm, Minn)</li>
+ * </ul>
+ * In Latin text an r before a consonant is silent (Park), and anything that is not a letter is
+ * ignored, so spacing and hyphenation do not matter.
+ *
+ * The first {@value #MAX_SYMBOLS} classes are packed 5 bits each from the top of the key, and
+ * the low 4 bits hold the number of classes (up to 15), so equal names have equal keys, keys
+ * sharing a prefix share a {@link #prefix(long, int)} for blocking, and comparing keys with
+ * {@link Long#compareUnsigned(long, long)} orders them by their classes.
+ *
+ * <pre>
+ * PhoneticKey.of("최민준") == PhoneticKey.of("Choi Min-joon")   // true
+ * PhoneticKey.toString(PhoneticKey.of("Rhee"))                 // "I"
+ * </pre>
+ */
+public final class PhoneticKey {
+    /**
+     * The number of classes kept in a key.
+     */
+    public static final int MAX_SYMBOLS = 12;
+
+    private static final String CLASSES = "AEIOWYKTPJSLNMHG";
+    private static final int BITS = 5;
+    private static final int LENGTH_BITS = 4;
+    private static final int MAX_LENGTH = (1 << LENGTH_BITS) - 1;
+    // Classes read before the rules are applied, more than any name needs
+    private static final int MAX_RAW = 64;
+
+    private static final byte A = code('A');
+    private static final byte E = code('E');
+    private static final byte I = code('I');
+    private static final byte O = code('O');
+    private static final byte W = code('W');
+    private static final byte Y = code('Y');
+    private static final byte K = code('K');
+    private static final byte T = code('T');
+    private static final byte P = code('P');
+    private static final byte J = code('J');
+    private static final byte S = code('S');
+    private static final byte L = code('L');
+    private static final byte N = code('N');
+    private static final byte M = code('M');
+    private static final byte H = code('H');
+    private static final byte G = code('G');
+
+    // Classes of each jamo by index; ㅇ is silent as an initial
+    private static final byte[][] INITIALS = codes(
+        "K", "K", "N", "T", "T", "L", "M", "P", "P", "S", "S", "", "J", "J", "J", "K", "T", "P", "H");
+    private static final byte[][] MEDIALS = codes(
+        "A", "E", "YA", "YE", "O", "E", "YO", "YE", "O", "WA", "WE", "WE", "YO", "O", "WO", "WE", "WI", "YO", "O", "OI", "I");
+    private static final byte[][] FINALS = codes(
+        "", "K", "K", "K", "N", "N", "N", "T", "L", "K", "M", "L", "L", "L", "P", "L", "M", "P", "P", "T", "T", "G", "T", "T",
+        "K", "T", "P", "T");
+
+    private PhoneticKey() {
+    }
+
+    private static byte code(char symbol) {
+        return (byte) (CLASSES.indexOf(symbol) + 1);
+    }
+
+    private static byte[][] codes(String... jamo) {
+        byte[][] codes = new byte[jamo.length][];
+        for (int i = 0; i < jamo.length; i++) {
+            codes[i] = new byte[jamo[i].length()];
+            for (int j = 0; j < jamo[i].length(); j++) {
+                codes[i][j] = code(jamo[i].charAt(j));
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Computes the phonetic key of a name.
+     *
+     * @param name The name, in Hangul, in Latin letters or mixed
+     * @return The key, or 0 if the name has no letters
+     */
+    public static long of(String name) {
+        String text = Syllable.normalize(name);
+        byte[] raw = new byte[MAX_RAW + 4];
+        int count = 0;
+        int length = text.length();
+        for (int i = 0; i < length && count < MAX_RAW; i++) {
+            char c = text.charAt(i);
+            if (Syllable.isHangul(c)) {
+                int code = c - 0xAC00;
+                count = append(raw, count, INITIALS[code / (CompiledScheme.MEDIALS * CompiledScheme.FINALS)]);
+                count = append(raw, count, MEDIALS[code / CompiledScheme.FINALS % CompiledScheme.MEDIALS]);
+                count = append(raw, count, FINALS[code % CompiledScheme.FINALS]);
+                continue;
+            }
+
+            char next = letter(text, i + 1);
+            switch (letter(text, i)) {
+                case 'a':
+                    if (next == 'e' || next == 'i') {
+                        raw[count++] = E;
+                        i++;
+                    } else {
+                        raw[count++] = A;
+                    }
+                    break;
+                case 'e':
+                    if (next == 'o' || next == 'u') {
+                        raw[count++] = O;
+                        i++;
+                    } else if (next == 'e') {
+                        raw[count++] = I;
+                        i++;
+                    } else {
+                        raw[count++] = E;
+                    }
+                    break;
+                case 'i':
+                    raw[count++] = I;
+                    break;
+                case 'o':
+                    if (next == 'i' || next == 'e') {
+                        raw[count++] = W;
+                        raw[count++] = E;
+                        i++;
+                    } else {
+                        raw[count++] = O;
+                        if (next == 'o' || next == 'u') {
+                            i++;
+                        }
+                    }
+                    break;
+                case 'u':
+                case 'ŏ':
+                case 'ŭ':
+                    raw[count++] = O;
+                    break;
+                case 'w':
+                    raw[count++] = W;
+                    break;
+                case 'y':
+                    raw[count++] = Y;
+                    break;
+                case 'g':
+                case 'k':
+                case 'q':
+                    raw[count++] = K;
+                    if (next == 'h') {
+                        i++;
+                    }
+                    break;
+                case 'c':
+                    if (next == 'h') {
+                        raw[count++] = J;
+                    } else {
+                        raw[count++] = K;
+                    }
+                    if (next == 'h' || next == 'k') {
+                        i++;
+                    }
+                    break;
+                case 'd':
+                    raw[count++] = T;
+                    break;
+                case 't':
+                    if (next == 'c' && letter(text, i + 2) == 'h') {
+                        raw[count++] = J;
+                        i += 2;
+                    } else {
+                        raw[count++] = T;
+                        if (next == 'h') {
+                            i++;
+                        }
+                    }
+                    break;
+                case 'b':
+                case 'f':
+                case 'v':
+                    raw[count++] = P;
+                    break;
+                case 'p':
+                    raw[count++] = P;
+                    if (next == 'h') {
+                        i++;
+                    }
+                    break;
+                case 'j':
+                case 'z':
+                    raw[count++] = J;
+                    break;
+                case 's':
+                    raw[count++] = S;
+                    if (next == 'h') {
+                        i++;
+                    }
+                    break;
+                case 'x':
+                    raw[count++] = K;
+                    raw[count++] = S;
+                    break;
+                case 'l':
+                    raw[count++] = L;
+                    break;
+                case 'r':
+                    if (next == 'h') {
+                        raw[count++] = L;
+                        i++;
+                    } else if (next == 0 || isVowelLetter(next)) {
+                        raw[count++] = L;
+                    }
+                    // An r before a consonant is silent, as in Park
+                    break;
+                case 'n':
+                    if (next == 'g') {
+                        raw[count++] = G;
+                        i++;
+                    } else {
+                        raw[count++] = N;
+                    }
+                    break;
+                case 'm':
+                    raw[count++] = M;
+                    break;
+                case 'h':
+                    raw[count++] = H;
+                    break;
+                default:
+                    // Not a letter: separators, digits and punctuation are ignored
+                    break;
+            }
+        }
+        return pack(raw, Math.min(count, MAX_RAW));
+    }
+
+    private static int append(byte[] raw, int count, byte[] codes) {
+        for (byte code : codes) {
+            raw[count++] = code;
+        }
+        return count;
+    }
+
+    /**
+     * Gets a character as a lowercase Latin letter, or 0.
+     */
+    private static char letter(String text, int index) {
+        if (index >= text.length()) {
+            return 0;
+        }
+        char c = text.charAt(index);
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        if (c == 'Ŏ' || c == 'Ŭ') {
+            return (char) (c + 1);
+        }
+        return (c >= 'a' && c <= 'z') || c == 'ŏ' || c == 'ŭ' ? c : 0;
+    }
+
+    private static boolean isVowelLetter(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u' || c == 'w' || c == 'y'
+               || c == 'ŏ' || c == 'ŭ';
+    }
+
+    private static boolean isVowel(int code) {
+        return code >= A && code <= O;
+    }
+
+    /**
+     * Applies the rules to the raw classes and packs the result.
+     */
+    private static long pack(byte[] raw, int count) {
+        long key = 0;
+        int length = 0;
+        int last = 0;
+        for (int i = 0; i < count; i++) {
+            int symbol = raw[i];
+            int next = i + 1 < count ? raw[i + 1] : 0;
+            if (i == 0 && symbol == L && (next == I || next == Y)) {
+                continue;
+            }
+            if (i == 0 && symbol == L && isVowel(next)) {
+                symbol = N;
+            }
+            if ((symbol == Y && next == I) || (symbol == W && next == O)) {
+                continue;
+            }
+            if (symbol == H && isVowel(last) && !isVowel(next)) {
+                continue;
+            }
+            if (symbol == N && next == K) {
+                symbol = G;
+                i++;
+            }
+            if (symbol == last) {
+                continue;
+            }
+            if (length < MAX_SYMBOLS) {
+                key |= (long) symbol << (Long.SIZE - BITS * (length + 1));
+            }
+            length++;
+            last = symbol;
+        }
+        return key | Math.min(length, MAX_LENGTH);
+    }
+
+    /**
+     * Gets the number of classes of the name a key was computed from.
+     *
+     * @param key A phonetic key
+     * @return The number of classes, or 15 for 15 or more
+     */
+    public static int length(long key) {
+        return (int) (key & MAX_LENGTH);
+    }
+
+    /**
+     * Gets the key of the first classes of a key, e.g. to block records for comparison.
+     *
+     * @param key A phonetic key
+     * @param symbols The number of classes to keep, from 0 to {@value #MAX_SYMBOLS}
+     * @return The key of the first classes
+     */
+    public static long prefix(long key, int symbols) {
+        if (symbols < 0 || symbols > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Symbols must be between 0 and " + MAX_SYMBOLS + ": " + symbols);
+        }
+        int kept = Math.min(symbols, length(key));
+        long mask = kept == 0 ? 0 : -1L << (Long.SIZE - BITS * kept);
+        return key & mask | kept;
+    }
+
+    /**
+     * Spells out the classes of a key.
+     *
+     * @param key A phonetic key
+     * @return The classes, e.g. "KIM"; at most {@value #MAX_SYMBOLS}
+     */
+    public static String toString(long key) {
+        StringBuilder sb = new StringBuilder(MAX_SYMBOLS);
+        for (int i = 0; i < MAX_SYMBOLS; i++) {
+            int symbol = (int) (key >>> (Long.SIZE - BITS * (i + 1))) & ((1 << BITS) - 1);
+            if (symbol == 0) {
+                break;
+            }
+            sb.append(CLASSES.charAt(symbol - 1));
+        }
+        return sb.toString();
+    }
+}
@@ -32,10 +32,91 @@ public class Pronouncer {
 
     private static final String NULL_CONSONANT = "ᄋ";
 
+    // What can follow a syllable, as the column of the sound change tables: the initial of a
+    // syllable (0-18), a conjoining choseong (19-37), which the rules read as an initial, any
+    // other character, or the end of the text
+    private static final int CHOSEONG = CompiledScheme.INITIALS;
+    private static final int OTHER = 2 * CompiledScheme.INITIALS;
+    private static final int END = OTHER + 1;
+    // Change to a syllable and to the character after it, by the final of the syllable and the
+    // column of what follows. The rules only ever change those two, and the change depends only
+    // on the original final and the original follower, so running the rules on every pair
+    // gives the tables.
+    private static final int[] SELF_CHANGE = new int[CompiledScheme.FINALS * (END + 1)];
+    private static final int[] NEXT_CHANGE = new int[CompiledScheme.FINALS * (END + 1)];
+    static {
+        for (int fin = 1; fin < CompiledScheme.FINALS; fin++) {
+            char syllable = (char) ('가' + fin);
+            for (int follower = 0; follower <= END; follower++) {
+                String pair = follower == END ? String.valueOf(syllable) : syllable + String.valueOf(follower(follower));
+                String pronounced = new Pronouncer(pair).getPronounced();
+                SELF_CHANGE[fin * (END + 1) + follower] = pronounced.charAt(0) - pair.charAt(0);
+                if (follower != END) {
+                    NEXT_CHANGE[fin * (END + 1) + follower] = pronounced.charAt(1) - pair.charAt(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a character standing for a column of the sound change tables.
+     */
+    private static char follower(int column) {
+        if (column < CHOSEONG) {
+            return (char) ('가' + column * CompiledScheme.MEDIALS * CompiledScheme.FINALS);
+        }
+        return column < OTHER ? (char) (0x1100 + column - CHOSEONG) : 'a';
+    }
+
+    /**
+     * Gets the column of the sound change tables for what follows a character.
+     */
+    private static int column(CharSequence text, int next) {
+        if (next >= text.length()) {
+            return END;
+        }
+        char c = text.charAt(next);
+        if (Syllable.isHangul(c)) {
+            return Syllable.initialIndex(c);
+        }
+        return c >= 0x1100 && c < 0x1100 + CompiledScheme.INITIALS ? CHOSEONG + c - 0x1100 : OTHER;
+    }
+
+    /**
+     * Applies the pronunciation rules in place, with the same result as
+     * {@link #getPronounced()} but without building syllables, for romanizing many short
+     * texts into reused buffers.
+     *
+     * @param text Normalized text, replaced by its pronunciation
+     */
+    static void pronounce(StringBuilder text) {
+        int length = text.length();
+        // The original final of each syllable decides its change, so read it before the
+        // previous syllable's change to this one's initial is applied
+        int fin = 0;
+        int column = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (fin > 0) {
+                text.setCharAt(i, (char) (c + NEXT_CHANGE[fin * (END + 1) + column]));
+            }
+            fin = 0;
+            if (Syllable.isHangul(c)) {
+                fin = Syllable.finalIndex(c);
+                if (fin > 0) {
+                    column = column(text, i + 1);
+                    text.setCharAt(i, (char) (text.charAt(i) + SELF_CHANGE[fin * (END + 1) + column]));
+                }
+            }
+        }
+    }
+
     /**
-     * Creates a Pronouncer for the given text.
+     * Creates a Pronouncer for the given text. The text is read one character per syllable,
+     * so decomposed jamo must already be composed by {@link Syllable#normalize(String)}, as
+     * every romanizer does before pronouncing.
      * 
-     * @param text The Korean text to process
+     * @param text The Korean text to process, already normalized
      */
     public Pronouncer(String text) {
         this.syllables = new ArrayList<>();
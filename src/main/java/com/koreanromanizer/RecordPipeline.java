@@ -0,0 +1,842 @@
+package com.koreanromanizer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Romanizes columns of CSV, TSV or JSON Lines data as a stream.
+ *
+ * Records are read in chunks, each chunk is romanized on a worker thread, and chunks are
+ * written back in input order. At most two chunks per thread are in memory at once, so
+ * memory is bounded whatever the input size. CSV and TSV input must start with a header
+ * row naming the columns; JSON Lines fields are top-level string fields of each object.
+ * Fields that are not romanized are written back byte for byte: CSV and TSV fields are
+ * copied from the record, and JSON values are spliced into the record text, so whitespace,
+ * escapes and number spellings outside the romanized values are kept. Appended JSON fields
+ * follow the last field of each object.
+ *
+ * <pre>
+ * new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME)
+ *     .appendSuffix("_en")
+ *     .run(Paths.get("customers.csv"), Paths.get("customers_en.csv"));
+ * </pre>
+ */
+public final class RecordPipeline {
+    /**
+     * Default suffix of appended output columns.
+     */
+    public static final String DEFAULT_SUFFIX = "_romanized";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Supported record formats.
+     */
+    public enum Format {
+        /** Comma-separated values with RFC 4180 quoting */
+        CSV,
+        /** Tab-separated values without quoting */
+        TSV,
+        /** One JSON object per line */
+        JSONL
+    }
+
+    private final Format format;
+    private final List<String> columns;
+    private final RomanizationMethod method;
+    // Suffix of appended columns, or null to replace the columns in place
+    private String suffix = DEFAULT_SUFFIX;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = 4096;
+    private PersistentCache cache;
+    // Records between checkpoints of file runs, or 0 for none
+    private long checkpointInterval;
+
+    /**
+     * Creates a pipeline that appends a romanized copy of each column.
+     *
+     * @param format The record format
+     * @param columns The columns (CSV, TSV) or fields (JSON Lines) to romanize
+     * @param method The romanization method
+     */
+    public RecordPipeline(Format format, List<String> columns, RomanizationMethod method) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No columns to romanize");
+        }
+        this.format = format;
+        this.columns = List.copyOf(columns);
+        this.method = method;
+    }
+
+    /**
+     * Appends romanized columns named after each column plus a suffix.
+     *
+     * @param suffix The suffix, e.g. "_romanized"
+     * @return This pipeline
+     */
+    public RecordPipeline appendSuffix(String suffix) {
+        if (suffix == null || suffix.isEmpty()) {
+            throw new IllegalArgumentException("Suffix must not be empty");
+        }
+        this.suffix = suffix;
+        return this;
+    }
+
+    /**
+     * Replaces the columns with their romanization instead of appending columns.
+     *
+     * @return This pipeline
+     */
+    public RecordPipeline replaceColumns() {
+        this.suffix = null;
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     *
+     * @param threads The number of threads
+     * @return This pipeline
+     */
+    public RecordPipeline threads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the number of records romanized per chunk.
+     *
+     * @param chunkSize The number of records per chunk
+     * @return This pipeline
+     */
+    public RecordPipeline chunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Looks values up in a persistent cache before romanizing them, and records new results in it.
+     *
+     * @param cache The cache, left open when the pipeline finishes
+     * @return This pipeline
+     */
+    public RecordPipeline cache(PersistentCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Writes a checkpoint after every given number of records when romanizing files, so that
+     * a killed run resumes where it left off. Checkpoints are taken at chunk boundaries.
+     *
+     * @param records The number of records between checkpoints, or 0 to disable checkpoints
+     * @return This pipeline
+     */
+    public RecordPipeline checkpointEvery(long records) {
+        if (records < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must not be negative: " + records);
+        }
+        this.checkpointInterval = records;
+        return this;
+    }
+
+    /**
+     * Romanizes a file.
+     *
+     * With checkpoints enabled, progress is saved next to the output in a file with a
+     * ".checkpoint" suffix. A run with the same input, output and settings resumes from it,
+     * truncating any output written after it, and produces the same output as an uninterrupted
+     * run. The checkpoint is deleted when the run completes.
+     *
+     * @param input The input file
+     * @param output The output file, replaced if it exists
+     * @return The number of records romanized, excluding any header
+     * @throws IOException if reading, writing or parsing fails
+     */
+    public long run(Path input, Path output) throws IOException {
+        if (checkpointInterval == 0) {
+            try (InputStream in = Files.newInputStream(input);
+                 OutputStream out = Files.newOutputStream(output)) {
+                return run(in, out);
+            }
+        }
+
+        Path checkpointFile = output.resolveSibling(output.getFileName() + ".checkpoint");
+        String job = describeJob(input, output);
+        boolean quoting = format == Format.CSV;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            Properties checkpoint = readCheckpoint(checkpointFile, job);
+            long inputOffset = 0;
+            long outputOffset = 0;
+            long count = 0;
+            if (checkpoint != null && Long.parseLong(checkpoint.getProperty("outputOffset")) <= out.size()) {
+                inputOffset = Long.parseLong(checkpoint.getProperty("inputOffset"));
+                outputOffset = Long.parseLong(checkpoint.getProperty("outputOffset"));
+                count = Long.parseLong(checkpoint.getProperty("records"));
+            }
+            out.truncate(outputOffset);
+            out.position(outputOffset);
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(out), 64 * 1024);
+
+            Layout layout;
+            RecordReader reader;
+            if (inputOffset > 0) {
+                // Resolve the columns from the header again, without writing it
+                layout = readHeader(new RecordReader(Channels.newInputStream(in), quoting, 0), OutputStream.nullOutputStream());
+                in.position(inputOffset);
+                reader = new RecordReader(Channels.newInputStream(in), quoting, inputOffset);
+            } else {
+                reader = new RecordReader(Channels.newInputStream(in), quoting, 0);
+                layout = readHeader(reader, buffered);
+            }
+            if (layout == null) {
+                buffered.flush();
+                Files.deleteIfExists(checkpointFile);
+                return 0;
+            }
+
+            long[] checkpointed = {count};
+            count = process(reader, layout, buffered, count, (inputEnd, records) -> {
+                if (records - checkpointed[0] >= checkpointInterval) {
+                    buffered.flush();
+                    out.force(false);
+                    writeCheckpoint(checkpointFile, job, inputEnd, out.position(), records);
+                    checkpointed[0] = records;
+                }
+            });
+            out.force(false);
+            Files.deleteIfExists(checkpointFile);
+            return count;
+        }
+    }
+
+    /**
+     * Romanizes the records in a byte range of a file, for one shard of a job split across
+     * processes (see {@link ShardCoordinator}). A range starting at 0 includes the header row;
+     * other ranges resolve the columns from the header but do not write it, so the outputs of
+     * consecutive ranges concatenate into the output of the whole file.
+     *
+     * @param input The input file
+     * @param start The first byte of the range: 0 or the start of a record
+     * @param end The end of the range: the end of the file or the start of a record
+     * @param output The output file, replaced if it exists
+     * @return The number of records romanized, excluding any header
+     * @throws IOException if reading, writing or parsing fails
+     */
+    public long run(Path input, long start, long end, Path output) throws IOException {
+        boolean quoting = format == Format.CSV;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream out = Files.newOutputStream(output)) {
+            if (start < 0 || start > end || end > in.size()) {
+                throw new IllegalArgumentException("Invalid range [" + start + ", " + end + ") of " + in.size() + " bytes");
+            }
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            RecordReader reader = new RecordReader(new RangeInputStream(in, start, end), quoting, start);
+            Layout layout;
+            if (start == 0) {
+                layout = readHeader(reader, buffered);
+            } else {
+                RecordReader header = new RecordReader(new RangeInputStream(in, 0, in.size()), quoting, 0);
+                layout = readHeader(header, OutputStream.nullOutputStream());
+            }
+            if (layout == null) {
+                buffered.flush();
+                return 0;
+            }
+            return process(reader, layout, buffered, 0, (inputEnd, records) -> { });
+        }
+    }
+
+    /**
+     * Renders the settings that determine the output as command line arguments, for worker processes.
+     */
+    List<String> arguments() {
+        List<String> arguments = new ArrayList<>(List.of(format.name().toLowerCase(Locale.ROOT),
+                                                         String.join(",", columns), method.getMethodName()));
+        if (suffix == null) {
+            arguments.add("--replace");
+        } else {
+            arguments.add("--suffix");
+            arguments.add(suffix);
+        }
+        arguments.addAll(List.of("--threads", Integer.toString(threads), "--chunk", Integer.toString(chunkSize)));
+        return arguments;
+    }
+
+    Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Romanizes a stream. Neither stream is closed.
+     *
+     * @param in The input
+     * @param out The output
+     * @return The number of records romanized, excluding any header
+     * @throws IOException if reading, writing or parsing fails
+     */
+    public long run(InputStream in, OutputStream out) throws IOException {
+        RecordReader reader = new RecordReader(in, format == Format.CSV, 0);
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        Layout layout = readHeader(reader, buffered);
+        if (layout == null) {
+            buffered.flush();
+            return 0;
+        }
+        return process(reader, layout, buffered, 0, (inputEnd, records) -> { });
+    }
+
+    /**
+     * Romanizes the records after the header in chunks on the worker threads, writing them in
+     * input order and reporting each chunk once it is written.
+     *
+     * @return The number of records romanized, including the records before the reader's position
+     */
+    private long process(RecordReader reader, Layout layout, OutputStream buffered, long count, ChunkListener listener)
+            throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "korean-romanizer-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Deque<Chunk> pending = new ArrayDeque<>();
+            boolean more = true;
+            while (more) {
+                String[] records = new String[chunkSize];
+                String[] terminators = new String[chunkSize];
+                int size = 0;
+                while (size < chunkSize && (more = reader.next())) {
+                    records[size] = reader.record();
+                    terminators[size++] = reader.terminator();
+                }
+                if (size == 0) {
+                    break;
+                }
+                int chunkLength = size;
+                long firstRecord = count + 1;
+                count += size;
+                pending.add(new Chunk(pool.submit(() -> romanizeChunk(layout, records, terminators, chunkLength, firstRecord)),
+                                      reader.offset(), count));
+                if (pending.size() >= threads * 2) {
+                    write(pending.poll(), buffered, listener);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), buffered, listener);
+            }
+            buffered.flush();
+            return count;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void write(Chunk chunk, OutputStream out, ChunkListener listener) throws IOException {
+        out.write(await(chunk.result));
+        listener.written(chunk.inputEnd, chunk.records);
+    }
+
+    /**
+     * Describes everything that determines the output of a file run, so a checkpoint is only
+     * resumed by the same job over an unchanged input.
+     */
+    private String describeJob(Path input, Path output) throws IOException {
+        return String.join("|", format.name(), String.join(",", columns), method.getMethodName(),
+                           suffix == null ? "" : suffix, input.toAbsolutePath().toString(),
+                           output.toAbsolutePath().toString(), Long.toString(Files.size(input)),
+                           Long.toString(Files.getLastModifiedTime(input).toMillis()));
+    }
+
+    /**
+     * Reads a checkpoint, or returns null if there is none or it belongs to another job.
+     */
+    private static Properties readCheckpoint(Path file, String job) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties checkpoint = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            checkpoint.load(in);
+        }
+        if (!job.equals(checkpoint.getProperty("job")) || checkpoint.getProperty("inputOffset") == null
+                || checkpoint.getProperty("outputOffset") == null || checkpoint.getProperty("records") == null) {
+            return null;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Writes a checkpoint to a temporary file and moves it into place, so a checkpoint is
+     * either the previous one or the new one, never a partial file.
+     */
+    private static void writeCheckpoint(Path file, String job, long inputOffset, long outputOffset, long records)
+            throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("job", job);
+        checkpoint.setProperty("inputOffset", Long.toString(inputOffset));
+        checkpoint.setProperty("outputOffset", Long.toString(outputOffset));
+        checkpoint.setProperty("records", Long.toString(records));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE);
+             OutputStream out = Channels.newOutputStream(channel)) {
+            checkpoint.store(out, "RecordPipeline checkpoint");
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads and writes the header row of CSV and TSV input and resolves the column positions.
+     *
+     * @return The layout, or null if the input is empty
+     */
+    private Layout readHeader(RecordReader reader, OutputStream out) throws IOException {
+        if (format == Format.JSONL) {
+            return new Layout(null);
+        }
+        if (!reader.next()) {
+            return null;
+        }
+        char delimiter = format == Format.CSV ? ',' : '\t';
+        List<String> names = new ArrayList<>();
+        splitFields(reader.record(), delimiter, format == Format.CSV, names, null);
+        int[] indices = new int[columns.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = names.indexOf(columns.get(i));
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("Column not found in header: " + columns.get(i));
+            }
+        }
+
+        StringBuilder header = new StringBuilder(reader.record());
+        if (suffix != null) {
+            for (String column : columns) {
+                header.append(delimiter).append(encode(column + suffix, delimiter));
+            }
+        }
+        out.write(header.append(reader.terminator()).toString().getBytes(StandardCharsets.UTF_8));
+        return new Layout(indices);
+    }
+
+    private static byte[] await(Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while romanizing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Romanizes a chunk of records into its UTF-8 output.
+     */
+    private byte[] romanizeChunk(Layout layout, String[] records, String[] terminators, int size, long firstRecord)
+            throws IOException {
+        StringBuilder scratch = new StringBuilder(64);
+        StringBuilder out = new StringBuilder(size * 64);
+        List<String> values = new ArrayList<>();
+        List<int[]> spans = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (format == Format.JSONL) {
+                romanizeJson(records[i], firstRecord + i, scratch, out);
+            } else {
+                romanizeDelimited(layout, records[i], values, spans, scratch, out);
+            }
+            out.append(terminators[i]);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void romanizeDelimited(Layout layout, String record, List<String> values, List<int[]> spans,
+                                   StringBuilder scratch, StringBuilder out) throws IOException {
+        if (record.isEmpty()) {
+            return;
+        }
+        char delimiter = format == Format.CSV ? ',' : '\t';
+        boolean quoting = format == Format.CSV;
+        values.clear();
+        spans.clear();
+        splitFields(record, delimiter, quoting, values, spans);
+
+        if (suffix != null) {
+            out.append(record);
+            for (int index : layout.indices) {
+                out.append(delimiter);
+                if (index < values.size()) {
+                    out.append(encode(romanize(values.get(index), scratch), delimiter));
+                }
+            }
+            return;
+        }
+
+        // Replace: copy untouched fields byte for byte
+        for (int field = 0; field < spans.size(); field++) {
+            if (field > 0) {
+                out.append(delimiter);
+            }
+            int[] span = spans.get(field);
+            if (layout.romanizes(field)) {
+                out.append(encode(romanize(values.get(field), scratch), delimiter));
+            } else {
+                out.append(record, span[0], span[1]);
+            }
+        }
+    }
+
+    /**
+     * Romanizes the fields of a JSON record by splicing the new values into the record text at
+     * the token locations of the parser, so everything else keeps its exact spelling.
+     */
+    private void romanizeJson(String record, long recordNumber, StringBuilder scratch, StringBuilder out)
+            throws IOException {
+        if (record.trim().isEmpty()) {
+            out.append(record);
+            return;
+        }
+        // Span of each top-level value and text of each string value, the last of duplicate fields winning
+        Map<String, int[]> spans = new HashMap<>();
+        Map<String, String> texts = new HashMap<>();
+        // Where appended fields go: after the last value, or after the opening brace
+        int insertAt;
+        try (JsonParser parser = MAPPER.getFactory().createParser(record)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                // Not an object: only check that it parses
+                parser.skipChildren();
+                out.append(record);
+                return;
+            }
+            insertAt = (int) parser.getTokenLocation().getCharOffset() + 1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                int start = (int) parser.getTokenLocation().getCharOffset();
+                if (value == JsonToken.VALUE_STRING) {
+                    // Reading the text also moves the location past the closing quote
+                    texts.put(field, parser.getText());
+                } else {
+                    texts.remove(field);
+                    parser.skipChildren();
+                }
+                insertAt = (int) parser.getCurrentLocation().getCharOffset();
+                spans.put(field, new int[] {start, insertAt});
+            }
+        } catch (JsonProcessingException e) {
+            throw new IOException("Invalid JSON in record " + recordNumber + ": " + e.getOriginalMessage(), e);
+        }
+
+        // Replaced values in record order; appended fields are inserted after every replaced value
+        Map<int[], String> replacements = new TreeMap<>(Comparator.comparingInt(span -> span[0]));
+        StringBuilder appended = new StringBuilder();
+        for (String field : columns) {
+            String text = texts.get(field);
+            String romanized = text != null ? romanize(text, scratch) : null;
+            if (suffix == null) {
+                if (romanized != null) {
+                    replacements.put(spans.get(field), MAPPER.writeValueAsString(romanized));
+                }
+            } else if (spans.containsKey(field + suffix)) {
+                replacements.put(spans.get(field + suffix), MAPPER.writeValueAsString(romanized));
+            } else {
+                if (!spans.isEmpty() || appended.length() > 0) {
+                    appended.append(',');
+                }
+                appended.append(MAPPER.writeValueAsString(field + suffix)).append(':')
+                        .append(MAPPER.writeValueAsString(romanized));
+            }
+        }
+
+        int copied = 0;
+        for (Map.Entry<int[], String> replacement : replacements.entrySet()) {
+            out.append(record, copied, replacement.getKey()[0]).append(replacement.getValue());
+            copied = replacement.getKey()[1];
+        }
+        out.append(record, copied, insertAt).append(appended).append(record, insertAt, record.length());
+    }
+
+    private String romanize(String value, StringBuilder scratch) throws IOException {
+        return cache != null ? cache.romanize(value, method, scratch) : method.romanize(value, scratch);
+    }
+
+    /**
+     * Splits a record into field values, and optionally the raw [start, end) span of each field.
+     */
+    static void splitFields(String record, char delimiter, boolean quoting, List<String> values, List<int[]> spans) {
+        int length = record.length();
+        int position = 0;
+        while (true) {
+            int start = position;
+            String value;
+            if (quoting && position < length && record.charAt(position) == '"') {
+                StringBuilder sb = new StringBuilder();
+                position++;
+                while (position < length) {
+                    char c = record.charAt(position++);
+                    if (c == '"') {
+                        if (position < length && record.charAt(position) == '"') {
+                            sb.append('"');
+                            position++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        sb.append(c);
+                    }
+                }
+                // Anything between the closing quote and the delimiter is kept as is
+                while (position < length && record.charAt(position) != delimiter) {
+                    sb.append(record.charAt(position++));
+                }
+                value = sb.toString();
+            } else {
+                int end = record.indexOf(delimiter, position);
+                position = end < 0 ? length : end;
+                value = record.substring(start, position);
+            }
+            values.add(value);
+            if (spans != null) {
+                spans.add(new int[] {start, position});
+            }
+            if (position >= length) {
+                return;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Encodes a field value, quoting it in CSV when it contains a delimiter, quote or newline.
+     */
+    private String encode(String value, char delimiter) {
+        if (value == null) {
+            return "";
+        }
+        if (format != Format.CSV) {
+            return value;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads a byte range of a file with positional reads, leaving the channel position alone.
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Notified after each chunk is written.
+     */
+    private interface ChunkListener {
+        void written(long inputEnd, long records) throws IOException;
+    }
+
+    /**
+     * A chunk being romanized, with the input offset just past it and the records up to its end.
+     */
+    private static final class Chunk {
+        final Future<byte[]> result;
+        final long inputEnd;
+        final long records;
+
+        Chunk(Future<byte[]> result, long inputEnd, long records) {
+            this.result = result;
+            this.inputEnd = inputEnd;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Positions of the romanized columns in delimited records.
+     */
+    private static final class Layout {
+        final int[] indices;
+
+        Layout(int[] indices) {
+            this.indices = indices;
+        }
+
+        boolean romanizes(int field) {
+            for (int index : indices) {
+                if (index == field) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Command line usage:
+     * java com.koreanromanizer.RecordPipeline csv|tsv|jsonl columns method [options] [input [output]]
+     * Options: --replace, --suffix SUFFIX, --threads N, --chunk N, --cache FILE, --checkpoint N,
+     * --range START END. Input and output default to stdin and stdout.
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: java com.koreanromanizer.RecordPipeline csv|tsv|jsonl columns method [options] [input [output]]");
+            System.out.println("Methods: romanize, romanizeName, romanizeFullName");
+            System.out.println("Options: --replace, --suffix SUFFIX, --threads N, --chunk N, --cache FILE, --checkpoint N,");
+            System.out.println("         --range START END (romanize one shard of the input file)");
+            System.exit(1);
+        }
+
+        try {
+            List<String> rest = new ArrayList<>();
+            RecordPipeline pipeline = fromArguments(args, 0, rest);
+            List<String> files = new ArrayList<>();
+            Path cacheFile = null;
+            long[] range = null;
+            for (int i = 0; i < rest.size(); i++) {
+                switch (rest.get(i)) {
+                    case "--cache":
+                        cacheFile = Paths.get(rest.get(++i));
+                        break;
+                    case "--range":
+                        range = new long[] {Long.parseLong(rest.get(++i)), Long.parseLong(rest.get(++i))};
+                        break;
+                    default:
+                        files.add(rest.get(i));
+                }
+            }
+
+            try (PersistentCache cache = cacheFile != null ? PersistentCache.open(cacheFile) : null) {
+                pipeline.cache(cache);
+                if (range != null) {
+                    if (files.size() != 2) {
+                        throw new IllegalArgumentException("--range needs an input and an output file");
+                    }
+                    pipeline.run(Paths.get(files.get(0)), range[0], range[1], Paths.get(files.get(1)));
+                } else if (files.size() >= 2) {
+                    pipeline.run(Paths.get(files.get(0)), Paths.get(files.get(1)));
+                } else if (files.size() == 1) {
+                    try (InputStream in = Files.newInputStream(Paths.get(files.get(0)))) {
+                        pipeline.run(in, System.out);
+                    }
+                } else {
+                    pipeline.run(System.in, System.out);
+                }
+            }
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates a pipeline from command line arguments: format, columns and method, then pipeline options.
+     *
+     * @param args The arguments
+     * @param from The index of the format argument
+     * @param rest Receives the arguments after the method that are not pipeline options, in order
+     * @return The pipeline
+     */
+    static RecordPipeline fromArguments(String[] args, int from, List<String> rest) {
+        Format format = Format.valueOf(args[from].toUpperCase(Locale.ROOT));
+        List<String> columns = Arrays.asList(args[from + 1].split(","));
+        RecordPipeline pipeline = new RecordPipeline(format, columns, RomanizationMethod.forName(args[from + 2]));
+        for (int i = from + 3; i < args.length; i++) {
+            switch (args[i]) {
+                case "--replace":
+                    pipeline.replaceColumns();
+                    break;
+                case "--suffix":
+                    pipeline.appendSuffix(args[++i]);
+                    break;
+                case "--threads":
+                    pipeline.threads(Integer.parseInt(args[++i]));
+                    break;
+                case "--chunk":
+                    pipeline.chunkSize(Integer.parseInt(args[++i]));
+                    break;
+                case "--checkpoint":
+                    pipeline.checkpointEvery(Long.parseLong(args[++i]));
+                    break;
+                default:
+                    rest.add(args[i]);
+            }
+        }
+        return pipeline;
+    }
+}
@@ -0,0 +1,126 @@
+package com.koreanromanizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads newline-terminated UTF-8 records from a byte stream, tracking the byte offset of
+ * every record boundary so that a reader can resume, or start, at any boundary.
+ * Records may contain newlines inside double quotes when quoting is enabled (CSV).
+ */
+final class RecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final boolean quoting;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    // Unread bytes are buffer[start, limit)
+    private int start;
+    private int limit;
+    private boolean eof;
+    // Byte offset in the input of buffer[start]
+    private long offset;
+    private String record;
+    private String terminator;
+
+    /**
+     * Creates a reader at the start of a stream.
+     *
+     * @param in The input, positioned at a record boundary
+     * @param quoting Whether newlines inside double quotes belong to the record
+     * @param startOffset The byte offset of the stream position in the whole input
+     */
+    RecordReader(InputStream in, boolean quoting, long startOffset) {
+        this.in = in;
+        this.quoting = quoting;
+        this.offset = startOffset;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return false at the end of the input
+     * @throws IOException if reading fails
+     */
+    boolean next() throws IOException {
+        int scan = start;
+        boolean quoted = false;
+        while (true) {
+            for (; scan < limit; scan++) {
+                byte b = buffer[scan];
+                if (b == '"' && quoting) {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    emit(scan + 1);
+                    return true;
+                }
+            }
+            if (eof) {
+                if (start == limit) {
+                    record = null;
+                    terminator = null;
+                    return false;
+                }
+                emit(limit);
+                return true;
+            }
+
+            // Keep the partial record at the front of the buffer, growing it for long records
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                scan -= start;
+                limit -= start;
+                start = 0;
+            }
+            if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    private void emit(int end) {
+        int terminatorLength = 0;
+        if (end > start && buffer[end - 1] == '\n') {
+            terminatorLength = end - 1 > start && buffer[end - 2] == '\r' ? 2 : 1;
+        }
+        record = new String(buffer, start, end - start - terminatorLength, StandardCharsets.UTF_8);
+        terminator = terminatorLength == 2 ? "\r\n" : terminatorLength == 1 ? "\n" : "";
+        offset += end - start;
+        start = end;
+    }
+
+    /**
+     * Gets the current record, without its line terminator.
+     */
+    String record() {
+        return record;
+    }
+
+    /**
+     * Gets the line terminator of the current record: "\n", "\r\n", or "" for a last line without one.
+     */
+    String terminator() {
+        return terminator;
+    }
+
+    /**
+     * Gets the byte offset just past the current record.
+     */
+    long offset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
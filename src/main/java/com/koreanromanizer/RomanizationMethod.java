@@ -0,0 +1,279 @@
+package com.koreanromanizer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The romanization entry points of {@link KoreanRomanizer}, for APIs that take the method
+ * as a parameter (streams, pipelines, the command line).
+ */
+public enum RomanizationMethod {
+
+    /**
+     * {@link KoreanRomanizer#romanize(String)}: plain text.
+     */
+    ROMANIZE("romanize") {
+        @Override
+        String romanize(String text, StringBuilder scratch, int[] starts, int[] ends) {
+            return new KoreanRomanizer(text).romanize(false, false, scratch, starts, ends);
+        }
+
+        @Override
+        void romanize(CharSequence text, StringBuilder source, StringBuilder out) {
+            KoreanRomanizer.romanize(TABLES, text, 0, text.length(), false, false, source, out);
+        }
+    },
+
+    /**
+     * {@link KoreanRomanizer#romanizeName(String)}: a name, spaced and title-cased.
+     */
+    NAME("romanizeName") {
+        @Override
+        String romanize(String text, StringBuilder scratch, int[] starts, int[] ends) {
+            return new KoreanRomanizer(text).romanize(true, true, scratch, starts, ends);
+        }
+
+        @Override
+        void romanize(CharSequence text, StringBuilder source, StringBuilder out) {
+            KoreanRomanizer.romanize(TABLES, text, 0, text.length(), true, true, source, out);
+        }
+    },
+
+    /**
+     * {@link KoreanRomanizer#romanizeFullName(String)}: a surname followed by a given name.
+     */
+    FULL_NAME("romanizeFullName") {
+        @Override
+        String romanize(String text, StringBuilder scratch, int[] starts, int[] ends) {
+            return KoreanRomanizer.romanizeFullName(text, scratch, starts, ends);
+        }
+
+        @Override
+        void romanize(CharSequence text, StringBuilder source, StringBuilder out) {
+            int length = text.length();
+            if (length <= 1) {
+                KoreanRomanizer.romanize(TABLES, text, 0, length, true, true, source, out);
+                return;
+            }
+            // The first character is the surname, as in romanizeFullName
+            KoreanRomanizer.romanize(TABLES, text, 0, 1, true, true, source, out);
+            out.append(' ');
+            KoreanRomanizer.romanize(TABLES, text, 1, length, true, true, source, out);
+        }
+
+        @Override
+        String romanize(String text, MappedDictionary dictionary) {
+            if (text == null || text.isEmpty()) {
+                return text;
+            }
+            String normalized = Syllable.normalize(text);
+            String result = dictionary.lookup(normalized);
+            if (result != null) {
+                return result;
+            }
+            if (normalized.length() == 1) {
+                return NAME.romanize(normalized, new StringBuilder());
+            }
+            // The first character is the surname, as in romanizeFullName
+            return NAME.romanize(normalized.substring(0, 1), dictionary) + " "
+                + NAME.romanize(normalized.substring(1), dictionary);
+        }
+    };
+
+    // The scheme of every method
+    private static final CompiledScheme TABLES = CompiledScheme.of(StandardScheme.REVISED_ROMANIZATION);
+
+    private final String methodName;
+
+    RomanizationMethod(String methodName) {
+        this.methodName = methodName;
+    }
+
+    /**
+     * Gets the method name, as accepted on the command line.
+     *
+     * @return The method name, e.g. "romanizeFullName"
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Romanizes text with this method.
+     *
+     * @param text The Korean text
+     * @return The romanized text
+     */
+    public String apply(String text) {
+        return romanize(text, new StringBuilder());
+    }
+
+    /**
+     * Romanizes text with this method, returning the pooled instance of a short result.
+     *
+     * @param text The Korean text
+     * @param pool The pool of canonical results
+     * @return The romanized text
+     */
+    public String apply(String text, CanonicalPool pool) {
+        return pool.canonicalize(romanize(text, new StringBuilder()));
+    }
+
+    /**
+     * Romanizes text with this method, taking names from a mapped dictionary first. The whole
+     * text is looked up in each table of the dictionary in turn; for {@link #FULL_NAME}, so are
+     * the surname and the given name when the whole name is not found. An entry is returned as
+     * written. Text that is not in the dictionary is romanized as by {@link #apply(String)}.
+     *
+     * @param text The Korean text
+     * @param dictionary The dictionary to consult, e.g. one holding customer spellings
+     * @return The romanized text
+     */
+    public String apply(String text, MappedDictionary dictionary) {
+        Objects.requireNonNull(dictionary, "dictionary");
+        return romanize(text, dictionary);
+    }
+
+    /**
+     * Romanizes text with this method, recording which span of the result came from each
+     * character, e.g. to highlight a search hit in the romanization. Indices refer to the text
+     * after {@link Syllable#normalize(String)}, which is the input itself unless it contains
+     * conjoining or halfwidth jamo; characters of a whole-text dictionary name span the whole
+     * result. Spans are filled during romanization, not by romanizing characters one by one, so
+     * they reflect sound changes across syllables.
+     *
+     * @param text The Korean text
+     * @param starts Receives the result start of each character, at least as long as the text
+     * @param ends Receives the result end of each character, at least as long as the text
+     * @return The romanized text
+     * @throws IllegalArgumentException if an array is shorter than the text
+     */
+    public String apply(String text, int[] starts, int[] ends) {
+        if (starts.length < text.length() || ends.length < text.length()) {
+            throw new IllegalArgumentException("Offset arrays must hold the text length: " + text.length());
+        }
+        return romanize(text, new StringBuilder(), starts, ends);
+    }
+
+    /**
+     * Romanizes a batch, romanizing each distinct text once.
+     * Distinct texts are romanized from the most to the least frequent, and every position
+     * holding a text gets the same result instance, so repeated names cost neither time nor
+     * extra heap.
+     *
+     * @param texts The Korean texts; null texts romanize to null
+     * @return The results in input order, with the duplicate statistics of the batch
+     */
+    public RomanizedBatch romanizeAll(List<String> texts) {
+        Map<String, Distinct> distinct = new HashMap<>();
+        Distinct[] positions = new Distinct[texts.size()];
+        int nulls = 0;
+        int i = 0;
+        for (String text : texts) {
+            if (text == null) {
+                nulls++;
+            } else {
+                Distinct entry = distinct.get(text);
+                if (entry == null) {
+                    entry = new Distinct(text);
+                    distinct.put(text, entry);
+                }
+                entry.count++;
+                positions[i] = entry;
+            }
+            i++;
+        }
+
+        Distinct[] byFrequency = distinct.values().toArray(new Distinct[0]);
+        Arrays.sort(byFrequency, (a, b) -> Integer.compare(b.count, a.count));
+        StringBuilder scratch = new StringBuilder(64);
+        for (Distinct entry : byFrequency) {
+            entry.result = romanize(entry.text, scratch);
+        }
+
+        String[] results = new String[positions.length];
+        for (int position = 0; position < positions.length; position++) {
+            if (positions[position] != null) {
+                results[position] = positions[position].result;
+            }
+        }
+        return new RomanizedBatch(results, nulls, byFrequency.length);
+    }
+
+    /**
+     * A distinct text of a batch, its number of occurrences and its result.
+     */
+    private static final class Distinct {
+        final String text;
+        int count;
+        String result;
+
+        Distinct(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * Romanizes text with this method, building the result in a reusable scratch buffer.
+     *
+     * @param text The Korean text
+     * @param scratch A buffer owned by the calling thread; its contents are discarded
+     * @return The romanized text
+     */
+    String romanize(String text, StringBuilder scratch) {
+        return romanize(text, scratch, null, null);
+    }
+
+    /**
+     * Romanizes text with this method into a reusable scratch buffer, optionally recording the
+     * span of the result that came from each character of the normalized text.
+     *
+     * @param text The Korean text
+     * @param scratch A buffer owned by the calling thread; its contents are discarded
+     * @param starts Receives the result start of each character, or null
+     * @param ends Receives the result end of each character, or null
+     * @return The romanized text
+     */
+    abstract String romanize(String text, StringBuilder scratch, int[] starts, int[] ends);
+
+    /**
+     * Romanizes text with this method, returning the dictionary entry of the whole text if there is one.
+     *
+     * @param text The Korean text
+     * @param dictionary The dictionary to consult first
+     * @return The romanized text
+     */
+    String romanize(String text, MappedDictionary dictionary) {
+        String result = dictionary.lookup(Syllable.normalize(text));
+        return result != null ? result : romanize(text, new StringBuilder());
+    }
+
+    /**
+     * Romanizes text with this method, appending the result without allocating, e.g. for
+     * columns of values that never become strings.
+     *
+     * @param text Text already normalized by {@link Syllable#normalize(CharSequence, char[], int)}
+     * @param source A buffer owned by the calling thread; its contents are discarded
+     * @param out The buffer to append the result to
+     */
+    abstract void romanize(CharSequence text, StringBuilder source, StringBuilder out);
+
+    /**
+     * Finds a method by its command line name.
+     *
+     * @param methodName The method name, e.g. "romanize"
+     * @return The method
+     * @throws IllegalArgumentException if there is no method with that name
+     */
+    public static RomanizationMethod forName(String methodName) {
+        for (RomanizationMethod method : values()) {
+            if (method.methodName.equals(methodName)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("Unknown method: " + methodName);
+    }
+}
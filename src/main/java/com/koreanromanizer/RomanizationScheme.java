@@ -0,0 +1,119 @@
+package com.koreanromanizer;
+
+/**
+ * A romanization system, described by how it spells each jamo in context.
+ * Implementations are only consulted when a scheme is compiled: every combination of jamo
+ * and context is evaluated once into dense lookup tables, so romanizing text costs the same
+ * for every scheme. Decomposition and the pronunciation rules of {@link Pronouncer} are shared.
+ *
+ * Jamo are identified by their index in the Unicode syllable composition order:
+ * initials 0-18 (ᄀ to ᄒ), medials 0-20 (ㅏ to ㅣ) and finals 0-27 (0 meaning no final, then ᆨ to ᇂ).
+ */
+public interface RomanizationScheme {
+
+    /**
+     * Value of {@code previousFinal} for the first character of the text.
+     */
+    int TEXT_START = -2;
+
+    /**
+     * Value of {@code previousFinal} when the previous character is not a Hangul syllable.
+     */
+    int AFTER_NON_SYLLABLE = -1;
+
+    /**
+     * Value of {@code nextMedial} and {@code nextInitial} when the next character is not a Hangul syllable.
+     */
+    int NO_SYLLABLE = -1;
+
+    /**
+     * Gets the display name of the scheme.
+     *
+     * @return The scheme name, e.g. "Revised Romanization"
+     */
+    String getName();
+
+    /**
+     * Romanizes an initial consonant.
+     *
+     * @param initial The initial index (0-18)
+     * @param previousFinal The final index of the previous syllable (0 for none),
+     *                      {@link #TEXT_START} or {@link #AFTER_NON_SYLLABLE}
+     * @param beforeSyllable Whether the next character is a Hangul syllable
+     * @return The romanized initial
+     */
+    String initial(int initial, int previousFinal, boolean beforeSyllable);
+
+    /**
+     * Romanizes an initial consonant, knowing the vowel it is spoken with, e.g. for the
+     * McCune-Reischauer "sh" of 시. By default the medial is ignored.
+     *
+     * @param initial The initial index (0-18)
+     * @param medial The medial index of the same syllable (0-20)
+     * @param previousFinal The final index of the previous syllable (0 for none),
+     *                      {@link #TEXT_START} or {@link #AFTER_NON_SYLLABLE}
+     * @param beforeSyllable Whether the next character is a Hangul syllable
+     * @return The romanized initial
+     */
+    default String initial(int initial, int medial, int previousFinal, boolean beforeSyllable) {
+        return initial(initial, previousFinal, beforeSyllable);
+    }
+
+    /**
+     * Romanizes a medial vowel.
+     *
+     * @param medial The medial index (0-20)
+     * @param nextMedial The medial index of the next syllable, or {@link #NO_SYLLABLE}
+     * @return The romanized vowel
+     */
+    String medial(int medial, int nextMedial);
+
+    /**
+     * Romanizes a medial vowel, knowing the consonant it follows, e.g. for the Yale "u" of 부.
+     * By default the initial is ignored.
+     *
+     * @param medial The medial index (0-20)
+     * @param initial The initial index of the same syllable (0-18)
+     * @param nextMedial The medial index of the next syllable, or {@link #NO_SYLLABLE}
+     * @return The romanized vowel
+     */
+    default String medial(int medial, int initial, int nextMedial) {
+        return medial(medial, nextMedial);
+    }
+
+    /**
+     * Romanizes a final consonant.
+     *
+     * @param finalConsonant The final index (0-27, 0 meaning no final)
+     * @param nextInitial The initial index of the next syllable, or {@link #NO_SYLLABLE}
+     * @return The romanized final
+     */
+    String finalConsonant(int finalConsonant, int nextInitial);
+
+    /**
+     * Romanizes a standalone compatibility jamo (U+3131 to U+3163), such as ㄱ or ㅠ.
+     *
+     * @param jamo The compatibility jamo
+     * @return The romanized jamo
+     */
+    String jamo(char jamo);
+
+    /**
+     * Whether text is run through the {@link Pronouncer} sound change rules before romanization.
+     * Transliteration schemes such as Yale spell the written form instead.
+     *
+     * @return true to romanize the pronounced form
+     */
+    default boolean appliesPronunciationRules() {
+        return true;
+    }
+
+    /**
+     * Whether the surname and given name dictionaries of {@link KoreanRomanizer} take precedence.
+     *
+     * @return true to consult the name dictionaries first
+     */
+    default boolean usesNameDictionaries() {
+        return false;
+    }
+}
@@ -0,0 +1,213 @@
+package com.koreanromanizer;
+
+/**
+ * Keeps the romanization of a text up to date while the text is edited, e.g. in an editor
+ * showing live romanization. The output is kept as one segment per character, and an edit only
+ * recomputes the segments whose context it touches: a sound change reaches one syllable across
+ * a boundary, and romanization looks one more syllable each way, so an edit of n characters
+ * recomputes n + 4 segments from a window of n + 8 characters.
+ *
+ * The text, the segments and the joined output are each kept in a buffer with a gap at the
+ * last edit, and a running sum of segment lengths locates the edit in the output, so an edit
+ * costs its own length plus the distance from the previous edit, never the whole text.
+ * Decomposed jamo are composed within the jamo sequence around the edit.
+ *
+ * The result is always the same as {@link KoreanRomanizer#romanize()} (or
+ * {@link KoreanRomanizer#romanize(String, RomanizationScheme)}) of the current text.
+ * Instances are not thread-safe.
+ */
+public final class RomanizationSession {
+    // Characters of context on each side that can change the romanization of a character
+    private static final int CONTEXT = 2;
+
+    private final CompiledScheme tables;
+    private final GapBuffer text;
+    // Romanization of each character of the text
+    private final SegmentBuffer segments;
+    // The segments joined
+    private final GapBuffer output;
+    private final StringBuilder scratch = new StringBuilder();
+    private final StringBuilder joined = new StringBuilder();
+    // The whole-text dictionary romanization, overriding the segments, or null
+    private String override;
+    private String romanized;
+
+    /**
+     * Creates a session for a text using Revised Romanization.
+     *
+     * @param text The initial text
+     */
+    public RomanizationSession(String text) {
+        this(text, StandardScheme.REVISED_ROMANIZATION);
+    }
+
+    /**
+     * Creates a session for a text using a specific romanization scheme.
+     *
+     * @param text The initial text
+     * @param scheme The romanization scheme
+     */
+    public RomanizationSession(String text, RomanizationScheme scheme) {
+        this.tables = CompiledScheme.of(scheme);
+        this.text = new GapBuffer(Syllable.normalize(text));
+        this.segments = new SegmentBuffer(this.text.length());
+        this.output = new GapBuffer("");
+        recompute(0, this.text.length());
+    }
+
+    /**
+     * Inserts text.
+     *
+     * @param offset The offset to insert at
+     * @param inserted The text to insert
+     */
+    public void insert(int offset, String inserted) {
+        replace(offset, offset, inserted);
+    }
+
+    /**
+     * Deletes the characters in [start, end).
+     *
+     * @param start The first character to delete
+     * @param end The end of the range to delete
+     */
+    public void delete(int start, int end) {
+        replace(start, end, "");
+    }
+
+    /**
+     * Replaces the characters in [start, end) and updates the romanization around the edit.
+     * Offsets refer to the text as returned by {@link #getText()}, where decomposed
+     * (NFD or halfwidth) input has been composed into syllables.
+     *
+     * @param start The first character to replace
+     * @param end The end of the range to replace
+     * @param replacement The new text
+     * @throws IndexOutOfBoundsException if the range is not within the text
+     */
+    public void replace(int start, int end, String replacement) {
+        if (start < 0 || end < start || end > text.length()) {
+            throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for length " + text.length());
+        }
+        boolean decomposed = Syllable.needsNormalization(replacement)
+            || (start > 0 && Syllable.isDecomposedJamo(text.charAt(start - 1)))
+            || (end < text.length() && Syllable.isDecomposedJamo(text.charAt(end)));
+
+        splice(start, end, replacement);
+        int changedEnd = start + replacement.length();
+
+        if (decomposed) {
+            // Jamo may compose across the edit, so offsets shift. Composition restarts at any
+            // character that is not a jamo, except a syllable that can still take a final jamo.
+            int from = start;
+            while (from > 0 && Syllable.isDecomposedJamo(text.charAt(from - 1))) {
+                from--;
+            }
+            if (from > 0 && Syllable.isHangul(text.charAt(from - 1))) {
+                from--;
+            }
+            int to = changedEnd;
+            while (to < text.length() && Syllable.isDecomposedJamo(text.charAt(to))) {
+                to++;
+            }
+            String normalized = Syllable.normalize(text.substring(from, to));
+            splice(from, to, normalized);
+            start = from;
+            changedEnd = from + normalized.length();
+        }
+        recompute(start, changedEnd);
+    }
+
+    /**
+     * Replaces characters of the text, dropping their segments from the output and leaving
+     * empty segments for the new characters.
+     */
+    private void splice(int start, int end, String replacement) {
+        output.replace(segments.offset(start), segments.offset(end), "");
+        segments.replace(start, end, replacement.length());
+        text.replace(start, end, replacement);
+    }
+
+    /**
+     * Recomputes the segments affected by a change of the characters in [start, end).
+     */
+    private void recompute(int start, int end) {
+        int length = text.length();
+        int emitFrom = Math.max(0, start - CONTEXT);
+        int emitTo = Math.min(length, end + CONTEXT);
+        // Pronunciation of the emitted characters and their neighbours needs one more character each side
+        int windowFrom = Math.max(0, emitFrom - CONTEXT);
+        int windowTo = Math.min(length, emitTo + CONTEXT);
+
+        String window = text.substring(windowFrom, windowTo);
+        if (tables.appliesPronunciationRules()) {
+            window = new Pronouncer(window).getPronounced();
+        }
+        // The output of the emitted segments, before they change
+        int outputFrom = segments.offset(emitFrom);
+        int outputTo = segments.offset(emitTo);
+        joined.setLength(0);
+        for (int i = emitFrom; i < emitTo; i++) {
+            scratch.setLength(0);
+            tables.romanize(window, i - windowFrom, i - windowFrom + 1, false, scratch);
+            segments.set(i, scratch.toString());
+            joined.append(scratch);
+        }
+        output.replace(outputFrom, outputTo, joined);
+
+        override = null;
+        if (tables.usesNameDictionaries() && length <= KoreanRomanizer.LONGEST_DICTIONARY_ENTRY) {
+            override = KoreanRomanizer.lookupWholeText(text.toString());
+        }
+        romanized = null;
+    }
+
+    /**
+     * Gets the current text.
+     *
+     * @return The text
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    /**
+     * Gets the romanization of one character of the text. Characters that are not romanized
+     * are returned as they are. When the whole text is a dictionary name, the segments
+     * still hold the syllable-by-syllable romanization.
+     *
+     * @param index The character index
+     * @return The romanization of the character
+     */
+    public String getSegment(int index) {
+        return segments.get(index);
+    }
+
+    /**
+     * Gets where the romanization of a character starts in {@link #getRomanized()}, e.g. to
+     * keep a cursor in place. When the whole text is a dictionary name, offsets refer to the
+     * syllable-by-syllable romanization.
+     *
+     * @param index The character index, or the text length for the end of the romanization
+     * @return The offset in the romanized text
+     */
+    public int getSegmentOffset(int index) {
+        return segments.offset(index);
+    }
+
+    /**
+     * Gets the romanization of the current text. The output is kept joined, so this copies it
+     * once after an edit rather than joining the segments again.
+     *
+     * @return The romanized text
+     */
+    public String getRomanized() {
+        if (override != null) {
+            return override;
+        }
+        if (romanized == null) {
+            romanized = output.toString();
+        }
+        return romanized;
+    }
+}
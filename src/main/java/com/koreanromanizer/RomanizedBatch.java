@@ -0,0 +1,67 @@
+package com.koreanromanizer;
+
+/**
+ * The results of {@link RomanizationMethod#romanizeAll(java.util.List)}: one result per input,
+ * where equal inputs share one result instance, and how repetitive the batch was.
+ */
+public final class RomanizedBatch {
+    private final String[] results;
+    private final int nulls;
+    private final int distinct;
+
+    RomanizedBatch(String[] results, int nulls, int distinct) {
+        this.results = results;
+        this.nulls = nulls;
+        this.distinct = distinct;
+    }
+
+    /**
+     * Gets the results, in input order. The array is not copied.
+     */
+    public String[] getResults() {
+        return results;
+    }
+
+    /**
+     * Gets the result at a position of the batch.
+     *
+     * @param index The position
+     * @return The romanized text, or null for a null input
+     */
+    public String get(int index) {
+        return results[index];
+    }
+
+    /**
+     * Gets the number of inputs.
+     */
+    public int size() {
+        return results.length;
+    }
+
+    /**
+     * Gets the number of null inputs, which are not romanized.
+     */
+    public int getNulls() {
+        return nulls;
+    }
+
+    /**
+     * Gets the number of distinct non-null inputs, each romanized once.
+     */
+    public int getDistinct() {
+        return distinct;
+    }
+
+    /**
+     * Gets the share of non-null inputs that repeated an earlier input, from 0 to 1.
+     */
+    public double getDuplicateRatio() {
+        return DuplicateCounts.duplicateRatio(results.length - nulls, distinct);
+    }
+
+    @Override
+    public String toString() {
+        return DuplicateCounts.describe(results.length, results.length - nulls, distinct);
+    }
+}
@@ -0,0 +1,222 @@
+package com.koreanromanizer;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.BiFunction;
+
+/**
+ * A reactive pipeline stage that romanizes items in micro-batches.
+ *
+ * Items received while a batch is being romanized are buffered and romanized together as the
+ * next batch, so batches grow under load and shrink to single items when traffic is light.
+ * Demand is bounded: the processor never has more than {@code batchSize} items requested
+ * or buffered upstream, and results are published with {@link SubmissionPublisher#submit},
+ * which waits while a subscriber's buffer is full. A slow sink therefore stops the batches,
+ * which stops upstream requests, and no queue grows without bound.
+ *
+ * Batches run one at a time on the executor, in order, so results keep the input order.
+ * Results are delivered to subscribers on a separate pool of daemon threads, never on the
+ * executor: a batch waiting for a full subscriber buffer is then always drained, even on a
+ * single-threaded or saturated executor.
+ *
+ * @param <T> The type of input items
+ * @param <R> The type of published results
+ */
+public final class RomanizingProcessor<T, R> extends SubmissionPublisher<R> implements Flow.Processor<T, R> {
+    // Delivers results to subscribers; threads are started on demand and stop when idle
+    private static final ExecutorService DELIVERY = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "romanizing-processor-delivery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BiFunction<T, StringBuilder, R> romanizer;
+    private final Executor executor;
+    private final int batchSize;
+    // Only used by the batch being romanized; batches never overlap
+    private final StringBuilder scratch = new StringBuilder(64);
+
+    // Guarded by this
+    private Flow.Subscription upstream;
+    private List<T> pending = new ArrayList<>();
+    private boolean busy;
+    private boolean completed;
+    private Throwable failure;
+
+    private RomanizingProcessor(BiFunction<T, StringBuilder, R> romanizer, Executor executor, int batchSize) {
+        super(DELIVERY, batchSize);
+        this.romanizer = romanizer;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates a processor that romanizes strings on the common pool.
+     *
+     * @param method The romanization method
+     * @param batchSize The largest batch, which also bounds upstream demand
+     * @return The processor
+     */
+    public static RomanizingProcessor<String, String> create(RomanizationMethod method, int batchSize) {
+        return create(method, ForkJoinPool.commonPool(), batchSize);
+    }
+
+    /**
+     * Creates a processor that romanizes strings.
+     *
+     * @param method The romanization method
+     * @param executor The executor that romanizes batches
+     * @param batchSize The largest batch, which also bounds upstream demand
+     * @return The processor
+     */
+    public static RomanizingProcessor<String, String> create(RomanizationMethod method, Executor executor, int batchSize) {
+        Objects.requireNonNull(method, "method");
+        return new RomanizingProcessor<>(method::romanize, checked(executor), checked(batchSize));
+    }
+
+    /**
+     * Creates a processor that romanizes the values of records and keeps their ids.
+     *
+     * @param method The romanization method
+     * @param executor The executor that romanizes batches
+     * @param batchSize The largest batch, which also bounds upstream demand
+     * @param <K> The type of record ids
+     * @return The processor, publishing entries of each id and its romanized value
+     */
+    public static <K> RomanizingProcessor<Map.Entry<K, String>, Map.Entry<K, String>> keyed(
+            RomanizationMethod method, Executor executor, int batchSize) {
+        Objects.requireNonNull(method, "method");
+        return new RomanizingProcessor<>(
+            (record, scratch) -> new AbstractMap.SimpleImmutableEntry<>(record.getKey(), method.romanize(record.getValue(), scratch)),
+            checked(executor), checked(batchSize));
+    }
+
+    private static Executor checked(Executor executor) {
+        return Objects.requireNonNull(executor, "executor");
+    }
+
+    private static int checked(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        return batchSize;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        synchronized (this) {
+            pending.add(item);
+            if (busy) {
+                return;
+            }
+            busy = true;
+        }
+        dispatch();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (this) {
+            failure = throwable;
+            completed = true;
+            if (busy) {
+                return;
+            }
+            busy = true;
+        }
+        dispatch();
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            completed = true;
+            if (busy) {
+                return;
+            }
+            busy = true;
+        }
+        dispatch();
+    }
+
+    /**
+     * Takes the buffered items as the next batch and romanizes them on the executor,
+     * replacing their demand upstream. Called with busy set.
+     */
+    private void dispatch() {
+        List<T> batch;
+        boolean finished;
+        Flow.Subscription subscription;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            finished = completed;
+            subscription = upstream;
+            if (batch.isEmpty() && !finished) {
+                busy = false;
+                return;
+            }
+        }
+        if (!batch.isEmpty() && !finished) {
+            subscription.request(batch.size());
+        }
+        executor.execute(() -> romanize(batch, finished));
+    }
+
+    /**
+     * Romanizes and publishes one batch, then starts the next one if items arrived meanwhile.
+     */
+    private void romanize(List<T> batch, boolean finished) {
+        try {
+            for (T item : batch) {
+                submit(romanizer.apply(item, scratch));
+            }
+        } catch (RuntimeException e) {
+            Flow.Subscription subscription;
+            synchronized (this) {
+                subscription = upstream;
+                completed = true;
+            }
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        }
+
+        if (finished) {
+            if (failure != null) {
+                closeExceptionally(failure);
+            } else {
+                close();
+            }
+            return;
+        }
+        synchronized (this) {
+            if (pending.isEmpty() && !completed) {
+                busy = false;
+                return;
+            }
+        }
+        dispatch();
+    }
+}
@@ -0,0 +1,266 @@
+package com.koreanromanizer;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stream integration for bulk romanization.
+ * Each spliterator and each collector container owns its normalization, pronunciation and
+ * output buffers and romanizes through them in place, like {@link ColumnarRomanizer}, so the
+ * worker threads of a parallel stream share nothing and allocate only the result strings. Spliterators of
+ * sized sources split evenly along the source; other sources are split into batches.
+ *
+ * <pre>
+ * String[] romanized = names.parallelStream().collect(RomanizingStreams.toRomanizedArray(RomanizationMethod.FULL_NAME));
+ * Stream&lt;String&gt; lines = RomanizingStreams.romanize(Files.lines(path), RomanizationMethod.ROMANIZE);
+ * </pre>
+ */
+public final class RomanizingStreams {
+    /**
+     * Default number of items a spliterator romanizes per batch, and splits off from unsized sources.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private RomanizingStreams() {
+    }
+
+    /**
+     * Returns a collector that romanizes each element into an array, in encounter order.
+     *
+     * @param method The romanization method
+     * @return The collector
+     */
+    public static Collector<String, ?, String[]> toRomanizedArray(RomanizationMethod method) {
+        return toRomanizedArray(method, 16);
+    }
+
+    /**
+     * Returns a collector that romanizes each element into an array presized for the
+     * expected number of elements, in encounter order.
+     *
+     * @param method The romanization method
+     * @param expectedSize The expected number of elements; sequential streams of this size never resize
+     * @return The collector
+     */
+    public static Collector<String, ?, String[]> toRomanizedArray(RomanizationMethod method, int expectedSize) {
+        Objects.requireNonNull(method, "method");
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        return Collector.of(
+            () -> new ArrayAccumulator(method, expectedSize),
+            ArrayAccumulator::add,
+            ArrayAccumulator::append,
+            ArrayAccumulator::toArray);
+    }
+
+    /**
+     * Wraps a spliterator so that it yields the romanization of each element.
+     *
+     * @param source The source spliterator
+     * @param method The romanization method
+     * @param batchSize The number of elements romanized per batch and split off from unsized sources
+     * @return The romanizing spliterator
+     */
+    public static Spliterator<String> romanizing(Spliterator<String> source, RomanizationMethod method, int batchSize) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(method, "method");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        return new RomanizingSpliterator(source, method, batchSize);
+    }
+
+    /**
+     * Romanizes each element of a stream, keeping its parallelism and close handlers.
+     *
+     * @param texts The stream of Korean texts
+     * @param method The romanization method
+     * @return The stream of romanized texts
+     */
+    public static Stream<String> romanize(Stream<String> texts, RomanizationMethod method) {
+        return romanize(texts, method, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Romanizes each element of a stream, keeping its parallelism and close handlers.
+     *
+     * @param texts The stream of Korean texts
+     * @param method The romanization method
+     * @param batchSize The number of elements romanized per batch and split off from unsized sources
+     * @return The stream of romanized texts
+     */
+    public static Stream<String> romanize(Stream<String> texts, RomanizationMethod method, int batchSize) {
+        Spliterator<String> spliterator = romanizing(texts.spliterator(), method, batchSize);
+        return StreamSupport.stream(spliterator, texts.isParallel()).onClose(texts::close);
+    }
+
+    /**
+     * The buffers one worker romanizes through: the normalized text, its pronunciation and its
+     * romanization. Only the finished result is copied into a string.
+     */
+    private static final class Scratch {
+        private final RomanizationMethod method;
+        private final StringBuilder normalized = new StringBuilder(64);
+        private final StringBuilder source = new StringBuilder(64);
+        private final StringBuilder out = new StringBuilder(64);
+        private char[] composed = new char[64];
+
+        Scratch(RomanizationMethod method) {
+            this.method = method;
+        }
+
+        String romanize(String text) {
+            if (text == null) {
+                return method.romanize(null, out);
+            }
+            CharSequence input = text;
+            if (Syllable.needsNormalization(text)) {
+                if (composed.length < text.length()) {
+                    composed = new char[Math.max(text.length(), composed.length * 2)];
+                }
+                normalized.setLength(0);
+                normalized.append(composed, 0, Syllable.normalize(text, composed, 0));
+                input = normalized;
+            }
+            out.setLength(0);
+            method.romanize(input, source, out);
+            return out.toString();
+        }
+    }
+
+    /**
+     * Collector container: a growable array of results with its own scratch buffers.
+     */
+    private static final class ArrayAccumulator {
+        private final Scratch scratch;
+        private String[] results;
+        private int size;
+
+        ArrayAccumulator(RomanizationMethod method, int capacity) {
+            this.scratch = new Scratch(method);
+            this.results = new String[capacity];
+        }
+
+        void add(String text) {
+            if (size == results.length) {
+                results = Arrays.copyOf(results, Math.max(16, size * 2));
+            }
+            results[size++] = scratch.romanize(text);
+        }
+
+        ArrayAccumulator append(ArrayAccumulator other) {
+            if (size + other.size > results.length) {
+                results = Arrays.copyOf(results, size + other.size);
+            }
+            System.arraycopy(other.results, 0, results, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        String[] toArray() {
+            return size == results.length ? results : Arrays.copyOf(results, size);
+        }
+    }
+
+    /**
+     * Pulls a batch of elements from the source, romanizes it with its own scratch buffers,
+     * then hands the results out one by one.
+     */
+    private static final class RomanizingSpliterator implements Spliterator<String> {
+        private final Spliterator<String> source;
+        private final RomanizationMethod method;
+        private final int batchSize;
+        private final Scratch scratch;
+        private final String[] batch;
+        private int position;
+        private int limit;
+
+        RomanizingSpliterator(Spliterator<String> source, RomanizationMethod method, int batchSize) {
+            this.source = source;
+            this.method = method;
+            this.batchSize = batchSize;
+            this.scratch = new Scratch(method);
+            this.batch = new String[batchSize];
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            action.accept(batch[position]);
+            batch[position++] = null;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super String> action) {
+            while (position < limit) {
+                action.accept(batch[position]);
+                batch[position++] = null;
+            }
+            source.forEachRemaining(text -> action.accept(scratch.romanize(text)));
+        }
+
+        /**
+         * Romanizes the next batch from the source.
+         */
+        private boolean fill() {
+            position = 0;
+            limit = 0;
+            while (limit < batchSize && source.tryAdvance(text -> batch[limit] = text)) {
+                limit++;
+            }
+            for (int i = 0; i < limit; i++) {
+                batch[i] = scratch.romanize(batch[i]);
+            }
+            return limit > 0;
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            if (position < limit) {
+                // Buffered results precede everything left in the source, so a prefix cannot be split off
+                return null;
+            }
+            Spliterator<String> prefix = source.trySplit();
+            if (prefix != null) {
+                return new RomanizingSpliterator(prefix, method, batchSize);
+            }
+            if (source.hasCharacteristics(SIZED) && source.estimateSize() <= batchSize) {
+                return null;
+            }
+            // Unsplittable source: split off one batch, romanized by whichever worker takes it
+            String[] split = new String[batchSize];
+            int[] count = {0};
+            Consumer<String> store = text -> split[count[0]] = text;
+            while (count[0] < batchSize && source.tryAdvance(store)) {
+                count[0]++;
+            }
+            if (count[0] == 0) {
+                return null;
+            }
+            Spliterator<String> array = Spliterators.spliterator(split, 0, count[0], characteristics() & ORDERED);
+            return new RomanizingSpliterator(array, method, batchSize);
+        }
+
+        @Override
+        public long estimateSize() {
+            long remaining = source.estimateSize();
+            return remaining == Long.MAX_VALUE ? remaining : remaining + (limit - position);
+        }
+
+        @Override
+        public int characteristics() {
+            // Romanization maps one to one but is neither sorted nor distinct, and may return null
+            return source.characteristics() & (ORDERED | SIZED | SUBSIZED);
+        }
+    }
+}
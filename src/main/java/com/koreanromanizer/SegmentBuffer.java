@@ -0,0 +1,160 @@
+package com.koreanromanizer;
+
+/**
+ * The romanized segments of an edited text, one per character, stored with a gap at the last
+ * edit like {@link GapBuffer}. A Fenwick tree over the slots keeps the running sum of segment
+ * lengths, so the offset of a segment in the joined output takes O(log n) and an edit does not
+ * rescan the segments before it. Gap slots are empty and count as zero.
+ */
+final class SegmentBuffer {
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] slots;
+    // Fenwick tree of the slot lengths, 1-based
+    private int[] tree;
+    private int gapStart;
+    private int gapEnd;
+
+    /**
+     * Creates a buffer of empty segments.
+     *
+     * @param size The number of segments
+     */
+    SegmentBuffer(int size) {
+        slots = new String[Math.max(MIN_CAPACITY, size * 2)];
+        tree = new int[slots.length + 1];
+        for (int i = 0; i < size; i++) {
+            slots[i] = "";
+        }
+        gapStart = size;
+        gapEnd = slots.length;
+    }
+
+    /**
+     * Gets the number of segments.
+     */
+    int size() {
+        return slots.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Gets a segment.
+     *
+     * @param index The segment index
+     * @return The segment
+     */
+    String get(int index) {
+        return slots[slot(index)];
+    }
+
+    /**
+     * Sets a segment.
+     *
+     * @param index The segment index
+     * @param segment The new segment
+     */
+    void set(int index, String segment) {
+        int slot = slot(index);
+        add(slot, segment.length() - slots[slot].length());
+        slots[slot] = segment;
+    }
+
+    /**
+     * Gets the offset of a segment in the joined output.
+     *
+     * @param index The segment index, or the size for the output length
+     * @return The total length of the segments before it
+     */
+    int offset(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " for size " + size());
+        }
+        int sum = 0;
+        for (int i = index < gapStart ? index : index + (gapEnd - gapStart); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Replaces the segments in [start, end) with empty segments.
+     *
+     * @param start The first segment to remove
+     * @param end The end of the range to remove
+     * @param count The number of empty segments to insert
+     */
+    void replace(int start, int end, int count) {
+        if (start < 0 || end < start || end > size()) {
+            throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for size " + size());
+        }
+        moveGap(start);
+        for (int slot = gapEnd; slot < gapEnd + (end - start); slot++) {
+            add(slot, -slots[slot].length());
+            slots[slot] = null;
+        }
+        gapEnd += end - start;
+        if (gapEnd - gapStart < count) {
+            grow(count);
+        }
+        for (int i = 0; i < count; i++) {
+            slots[gapStart++] = "";
+        }
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " for size " + size());
+        }
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    private void add(int slot, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void moveGap(int index) {
+        if (gapStart == gapEnd) {
+            gapStart = index;
+            gapEnd = index;
+            return;
+        }
+        while (gapStart > index) {
+            move(--gapStart, --gapEnd);
+        }
+        while (gapStart < index) {
+            move(gapEnd++, gapStart++);
+        }
+    }
+
+    private void move(int from, int to) {
+        String segment = slots[from];
+        slots[from] = null;
+        slots[to] = segment;
+        add(from, -segment.length());
+        add(to, segment.length());
+    }
+
+    private void grow(int needed) {
+        int tail = slots.length - gapEnd;
+        String[] grown = new String[Math.max(slots.length * 2, size() + needed + MIN_CAPACITY)];
+        System.arraycopy(slots, 0, grown, 0, gapStart);
+        System.arraycopy(slots, gapEnd, grown, grown.length - tail, tail);
+        slots = grown;
+        gapEnd = grown.length - tail;
+
+        // Rebuild the tree in linear time
+        tree = new int[grown.length + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += grown[i - 1] != null ? grown[i - 1].length() : 0;
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
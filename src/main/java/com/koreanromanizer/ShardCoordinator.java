@@ -0,0 +1,307 @@
+package com.koreanromanizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Romanizes a large file with several worker processes.
+ *
+ * The input is split into byte ranges that start and end on record boundaries, each range is
+ * romanized by its own JVM with {@link RecordPipeline#run(Path, long, long, Path)} into a shard
+ * file next to the output, and the shards are concatenated in order. Each worker has its own
+ * heap, so garbage collection scales with the number of workers instead of limiting one JVM.
+ *
+ * Workers only share the input and output directory. To spread a job across machines, print
+ * the plan with {@link #command(Path, Shard)} (or the --plan option), run the commands on hosts
+ * that mount the same filesystem, then join the shards with {@link #concatenate(List, Path)}
+ * (the --merge option).
+ *
+ * <pre>
+ * RecordPipeline pipeline = new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME)
+ *     .threads(2);
+ * new ShardCoordinator(pipeline, 8).javaOption("-Xmx1g").run(Paths.get("huge.csv"), Paths.get("huge_en.csv"));
+ * </pre>
+ */
+public final class ShardCoordinator {
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    private final RecordPipeline pipeline;
+    private final int workers;
+    private final List<String> javaOptions = new ArrayList<>();
+
+    /**
+     * Creates a coordinator.
+     *
+     * @param pipeline The pipeline settings each worker runs with; its thread count is per worker
+     * @param workers The number of shards and worker processes
+     */
+    public ShardCoordinator(RecordPipeline pipeline, int workers) {
+        this.pipeline = Objects.requireNonNull(pipeline, "pipeline");
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workers);
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Adds a JVM option for the worker processes, e.g. "-Xmx1g".
+     *
+     * @param option The option
+     * @return This coordinator
+     */
+    public ShardCoordinator javaOption(String option) {
+        javaOptions.add(option);
+        return this;
+    }
+
+    /**
+     * A byte range of the input and the file its romanization is written to.
+     */
+    public static final class Shard {
+        private final long start;
+        private final long end;
+        private final Path output;
+
+        Shard(long start, long end, Path output) {
+            this.start = start;
+            this.end = end;
+            this.output = output;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public Path getOutput() {
+            return output;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ") -> " + output;
+        }
+    }
+
+    /**
+     * Splits an input file into about equal ranges that start on record boundaries.
+     * The first range includes the header row. Small files may have fewer ranges than workers.
+     *
+     * @param input The input file
+     * @param output The final output file; shards are written next to it
+     * @return The shards, in input order
+     * @throws IOException if the input cannot be read
+     */
+    public List<Shard> plan(Path input, Path output) throws IOException {
+        boolean quoting = pipeline.getFormat() == RecordPipeline.Format.CSV;
+        long size = Files.size(input);
+        long headerEnd = 0;
+        if (pipeline.getFormat() != RecordPipeline.Format.JSONL) {
+            try (InputStream in = Files.newInputStream(input)) {
+                RecordReader reader = new RecordReader(in, quoting, 0);
+                reader.next();
+                headerEnd = reader.offset();
+            }
+        }
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            long position = headerEnd;
+            boolean quoted = false;
+            for (int shard = 1; shard < workers; shard++) {
+                long target = headerEnd + (size - headerEnd) * shard / workers;
+                if (!quoting) {
+                    // Without quoting every newline ends a record, so scanning can start anywhere
+                    position = Math.max(position, target - 1);
+                }
+                long boundary = -1;
+                while (boundary < 0 && position < size) {
+                    buffer.clear();
+                    int read = channel.read(buffer, position);
+                    for (int i = 0; i < read; i++) {
+                        byte b = buffer.get(i);
+                        if (b == '"' && quoting) {
+                            quoted = !quoted;
+                        } else if (b == '\n' && !quoted && position + i + 1 >= target) {
+                            boundary = position + i + 1;
+                            // Resume the scan after the boundary, with the quote state it had there
+                            position = boundary;
+                            break;
+                        }
+                    }
+                    if (boundary < 0) {
+                        position += read;
+                    }
+                }
+                if (boundary < 0 || boundary >= size) {
+                    break;
+                }
+                if (boundary > boundaries.get(boundaries.size() - 1)) {
+                    boundaries.add(boundary);
+                }
+            }
+        }
+        boundaries.add(size);
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i + 1 < boundaries.size(); i++) {
+            Path shardOutput = output.resolveSibling(output.getFileName() + ".shard-" + i);
+            shards.add(new Shard(boundaries.get(i), boundaries.get(i + 1), shardOutput));
+        }
+        return shards;
+    }
+
+    /**
+     * Builds the command line of the worker for a shard, using this JVM's java executable and class path.
+     *
+     * @param input The input file
+     * @param shard The shard
+     * @return The command and its arguments
+     */
+    public List<String> command(Path input, Shard shard) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(javaOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(RecordPipeline.class.getName());
+        command.addAll(pipeline.arguments());
+        command.add("--range");
+        command.add(Long.toString(shard.start));
+        command.add(Long.toString(shard.end));
+        command.add(input.toString());
+        command.add(shard.output.toString());
+        return command;
+    }
+
+    /**
+     * Romanizes a file with local worker processes and concatenates their shards into the output.
+     * Shard files are deleted once they are joined.
+     *
+     * @param input The input file
+     * @param output The output file, replaced if it exists
+     * @throws IOException if a worker fails or the files cannot be read or written
+     */
+    public void run(Path input, Path output) throws IOException {
+        List<Shard> shards = plan(input, output);
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (Shard shard : shards) {
+                processes.add(new ProcessBuilder(command(input, shard))
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start());
+            }
+            for (int i = 0; i < processes.size(); i++) {
+                int exitCode = processes.get(i).waitFor();
+                if (exitCode != 0) {
+                    throw new IOException("Worker for shard " + shards.get(i) + " failed with exit code " + exitCode);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for workers", e);
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+
+        concatenate(shards, output);
+        for (Shard shard : shards) {
+            Files.delete(shard.output);
+        }
+    }
+
+    /**
+     * Joins shard outputs, in order, into the output file.
+     *
+     * @param shards The shards, in input order
+     * @param output The output file, replaced if it exists
+     * @throws IOException if a shard is missing or the output cannot be written
+     */
+    public static void concatenate(List<Shard> shards, Path output) throws IOException {
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Shard shard : shards) {
+                try (FileChannel in = FileChannel.open(shard.output, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    for (long copied = 0; copied < size; ) {
+                        copied += in.transferTo(copied, size - copied, out);
+                    }
+                }
+            }
+            out.force(false);
+        }
+    }
+
+    /**
+     * Command line usage:
+     * java com.koreanromanizer.ShardCoordinator workers csv|tsv|jsonl columns method [options] input output
+     * Options: the RecordPipeline options, --java-option OPTION, --plan (print the worker commands),
+     * --merge (join the shards written by the printed commands).
+     */
+    public static void main(String[] args) {
+        if (args.length < 6) {
+            System.out.println("Usage: java com.koreanromanizer.ShardCoordinator workers csv|tsv|jsonl columns method [options] input output");
+            System.out.println("Options: --replace, --suffix SUFFIX, --threads N (per worker), --chunk N, --java-option OPTION,");
+            System.out.println("         --plan (print the worker commands), --merge (join the shards of a plan)");
+            System.exit(1);
+        }
+
+        try {
+            List<String> rest = new ArrayList<>();
+            ShardCoordinator coordinator = new ShardCoordinator(RecordPipeline.fromArguments(args, 1, rest), Integer.parseInt(args[0]));
+            List<String> files = new ArrayList<>();
+            boolean plan = false;
+            boolean merge = false;
+            for (int i = 0; i < rest.size(); i++) {
+                switch (rest.get(i)) {
+                    case "--java-option":
+                        coordinator.javaOption(rest.get(++i));
+                        break;
+                    case "--plan":
+                        plan = true;
+                        break;
+                    case "--merge":
+                        merge = true;
+                        break;
+                    default:
+                        files.add(rest.get(i));
+                }
+            }
+            if (files.size() != 2) {
+                throw new IllegalArgumentException("Expected an input and an output file");
+            }
+
+            Path input = Paths.get(files.get(0));
+            Path output = Paths.get(files.get(1));
+            if (plan) {
+                for (Shard shard : coordinator.plan(input, output)) {
+                    System.out.println(String.join(" ", coordinator.command(input, shard)));
+                }
+            } else if (merge) {
+                concatenate(coordinator.plan(input, output), output);
+            } else {
+                coordinator.run(input, output);
+            }
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
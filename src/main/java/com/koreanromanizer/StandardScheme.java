@@ -0,0 +1,228 @@
+package com.koreanromanizer;
+
+/**
+ * The romanization schemes shipped with the library.
+ */
+public enum StandardScheme implements RomanizationScheme {
+
+    /**
+     * Revised Romanization of Korean (2000), with the name dictionaries of {@link KoreanRomanizer}.
+     * This is the default scheme.
+     */
+    REVISED_ROMANIZATION("Revised Romanization") {
+        @Override
+        public String initial(int initial, int previousFinal, boolean beforeSyllable) {
+            return KoreanRomanizer.revisedInitial(Syllable.initialJamo(initial),
+                previousFinal == TEXT_START, previousFinal > 0, beforeSyllable);
+        }
+
+        @Override
+        public String medial(int medial, int nextMedial) {
+            return KoreanRomanizer.revisedVowel(Syllable.medialJamo(medial),
+                nextMedial == NO_SYLLABLE ? null : Syllable.medialJamo(nextMedial));
+        }
+
+        @Override
+        public String finalConsonant(int finalConsonant, int nextInitial) {
+            return KoreanRomanizer.revisedFinal(Syllable.finalJamo(finalConsonant));
+        }
+
+        @Override
+        public String jamo(char jamo) {
+            return KoreanRomanizer.revisedJamo(String.valueOf(jamo));
+        }
+
+        @Override
+        public boolean usesNameDictionaries() {
+            return true;
+        }
+    },
+
+    /**
+     * McCune-Reischauer (1939), as used in legacy records: voicing of plain stops between
+     * voiced sounds, apostrophes for aspiration, breves for ŏ and ŭ, and sh for ㅅ before ㅣ and ㅟ.
+     */
+    MCCUNE_REISCHAUER("McCune-Reischauer") {
+        private final String[] vowels = {
+            "a", "ae", "ya", "yae", "ŏ", "e", "yŏ", "ye", "o", "wa", "wae",
+            "oe", "yo", "u", "wŏ", "we", "wi", "yu", "ŭ", "ŭi", "i"
+        };
+
+        @Override
+        public String initial(int initial, int previousFinal, boolean beforeSyllable) {
+            boolean voiced = previousFinal == 0 || (previousFinal > 0 && isVoicedFinal(previousFinal));
+            switch (initial) {
+                case 0: return voiced ? "g" : "k";
+                case 1: return "kk";
+                case 2: return previousFinal == 8 ? "l" : "n";
+                case 3: return voiced ? "d" : "t";
+                case 4: return "tt";
+                case 5:
+                    if (previousFinal == 4 || previousFinal == 8) {
+                        return "l";
+                    }
+                    return previousFinal > 0 ? "n" : "r";
+                case 6: return "m";
+                case 7: return voiced ? "b" : "p";
+                case 8: return "pp";
+                case 9: return "s";
+                case 10: return "ss";
+                case 11: return "";
+                case 12: return voiced ? "j" : "ch";
+                case 13: return "tch";
+                case 14: return "ch'";
+                case 15: return "k'";
+                case 16: return "t'";
+                case 17: return "p'";
+                default: return "h";
+            }
+        }
+
+        @Override
+        public String initial(int initial, int medial, int previousFinal, boolean beforeSyllable) {
+            // 시 and 쉬 are shi and shwi
+            if (initial == 9 && (medial == 20 || medial == 16)) {
+                return "sh";
+            }
+            return initial(initial, previousFinal, beforeSyllable);
+        }
+
+        @Override
+        public String medial(int medial, int nextMedial) {
+            return vowels[medial];
+        }
+
+        @Override
+        public String finalConsonant(int finalConsonant, int nextInitial) {
+            String base = representativeFinal(finalConsonant);
+            // Nasal assimilation before ㄴ, ㅁ and ㄹ
+            if (nextInitial == 2 || nextInitial == 6 || nextInitial == 5) {
+                switch (base) {
+                    case "k": return "ng";
+                    case "t": return "n";
+                    case "p": return "m";
+                    case "n": return nextInitial == 5 ? "l" : "n";
+                    default: return base;
+                }
+            }
+            return base;
+        }
+
+        @Override
+        public String jamo(char jamo) {
+            return compatibilityJamo(this, jamo);
+        }
+    },
+
+    /**
+     * Yale romanization, a one-to-one transliteration of the written jamo used in linguistics.
+     * Sound change rules are not applied. After the labials ㅁ, ㅂ, ㅃ and ㅍ, ㅜ is spelled u
+     * rather than wu.
+     */
+    YALE("Yale") {
+        private final String[] initials = {
+            "k", "kk", "n", "t", "tt", "l", "m", "p", "pp", "s",
+            "ss", "", "c", "cc", "ch", "kh", "th", "ph", "h"
+        };
+        private final String[] vowels = {
+            "a", "ay", "ya", "yay", "e", "ey", "ye", "yey", "o", "wa", "way",
+            "oy", "yo", "wu", "we", "wey", "wi", "yu", "u", "uy", "i"
+        };
+        private final String[] finals = {
+            "", "k", "kk", "ks", "n", "nc", "nh", "t", "l", "lk", "lm", "lp", "ls", "lth",
+            "lph", "lh", "m", "p", "ps", "s", "ss", "ng", "c", "ch", "kh", "th", "ph", "h"
+        };
+
+        @Override
+        public String initial(int initial, int previousFinal, boolean beforeSyllable) {
+            return initials[initial];
+        }
+
+        @Override
+        public String medial(int medial, int nextMedial) {
+            return vowels[medial];
+        }
+
+        @Override
+        public String medial(int medial, int initial, int nextMedial) {
+            if (medial == 13 && (initial == 6 || initial == 7 || initial == 8 || initial == 17)) {
+                return "u";
+            }
+            return medial(medial, nextMedial);
+        }
+
+        @Override
+        public String finalConsonant(int finalConsonant, int nextInitial) {
+            return finals[finalConsonant];
+        }
+
+        @Override
+        public String jamo(char jamo) {
+            return compatibilityJamo(this, jamo);
+        }
+
+        @Override
+        public boolean appliesPronunciationRules() {
+            return false;
+        }
+    };
+
+    // Compatibility consonants in initial index order, and in final index order (from index 1)
+    private static final String COMPATIBILITY_INITIALS = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String COMPATIBILITY_FINALS = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+    private static final char FIRST_COMPATIBILITY_VOWEL = 'ㅏ';
+
+    private final String displayName;
+
+    StandardScheme(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String getName() {
+        return displayName;
+    }
+
+    /**
+     * Whether a final is voiced (nasal or liquid), so a following plain stop is voiced in McCune-Reischauer.
+     */
+    private static boolean isVoicedFinal(int finalConsonant) {
+        String base = representativeFinal(finalConsonant);
+        return base.equals("n") || base.equals("l") || base.equals("m") || base.equals("ng");
+    }
+
+    /**
+     * Reduces a final to one of the seven sounds a syllable can end in.
+     */
+    private static String representativeFinal(int finalConsonant) {
+        switch (finalConsonant) {
+            case 0: case 27: return "";
+            case 1: case 2: case 3: case 9: case 24: return "k";
+            case 4: case 5: case 6: return "n";
+            case 7: case 19: case 20: case 22: case 23: case 25: return "t";
+            case 8: case 11: case 12: case 13: case 15: return "l";
+            case 10: case 16: return "m";
+            case 14: case 17: case 18: case 26: return "p";
+            default: return "ng";
+        }
+    }
+
+    /**
+     * Romanizes a standalone compatibility jamo through the syllable tables of a scheme:
+     * vowels as medials, consonants as word-initial initials and clusters as finals.
+     */
+    private static String compatibilityJamo(RomanizationScheme scheme, char jamo) {
+        if (jamo >= FIRST_COMPATIBILITY_VOWEL) {
+            return scheme.medial(jamo - FIRST_COMPATIBILITY_VOWEL, NO_SYLLABLE);
+        }
+        int initial = COMPATIBILITY_INITIALS.indexOf(jamo);
+        if (initial >= 0) {
+            return scheme.initial(initial, TEXT_START, false);
+        }
+        int finalConsonant = COMPATIBILITY_FINALS.indexOf(jamo);
+        if (finalConsonant >= 0) {
+            return scheme.finalConsonant(finalConsonant + 1, NO_SYLLABLE);
+        }
+        return String.valueOf(jamo);
+    }
+}
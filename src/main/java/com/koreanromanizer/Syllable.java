@@ -18,6 +18,18 @@ public class Syllable {
     private static final int UNICODE_INITIAL_OFFSET = 588;
     private static final int UNICODE_MEDIAL_OFFSET = 28;
 
+    private static final int UNICODE_SYLLABLE_COUNT = 11172;
+
+    /**
+     * Value stored by the bulk decomposition methods for characters that are not Hangul syllables.
+     */
+    public static final int NOT_HANGUL = -1;
+
+    // Bit layout of packed decompositions: initial << 10 | medial << 5 | final
+    private static final int PACKED_INITIAL_SHIFT = 10;
+    private static final int PACKED_MEDIAL_SHIFT = 5;
+    private static final int PACKED_MASK = 0x1F;
+
     // Unicode initial consonants (choseong)
     private static final List<String> UNICODE_INITIAL = Arrays.asList(
         "ᄀ", "ᄁ", "ᄂ", "ᄃ", "ᄄ", "ᄅ", "ᄆ", "ᄇ", "ᄈ", "ᄉ", "ᄊ", "ᄋ", "ᄌ", "ᄍ", "ᄎ", "ᄏ", "ᄐ", "ᄑ", "ᄒ"
@@ -43,6 +55,89 @@ public class Syllable {
         "ᆨ", "ᆩ", "ᆫ", "ᆮ", "_", "ᆯ", "ᆷ", "ᆸ", "_", "ᆺ", "ᆻ", "ᆼ", "ᆽ", "_", "ᆾ", "ᆿ", "ᇀ", "ᇁ", "ᇂ"
     );
 
+    // Conjoining jamo blocks (U+1100 choseong, U+1161 jungseong, U+11A8 jongseong)
+    private static final char CONJOINING_INITIAL_BASE = 0x1100;
+    private static final char CONJOINING_MEDIAL_BASE = 0x1161;
+    private static final char CONJOINING_FINAL_BASE = 0x11A7;
+
+    // Compatibility jamo block (U+3131 to U+3163)
+    private static final char COMPATIBILITY_BASE = 0x3131;
+    private static final char COMPATIBILITY_MEDIAL_BASE = 0x314F;
+    private static final char COMPATIBILITY_LAST = 0x3163;
+
+    // Halfwidth jamo block (U+FFA1 to U+FFDC), with gaps between vowel groups
+    private static final char HALFWIDTH_FIRST = 0xFFA1;
+    private static final char HALFWIDTH_LAST = 0xFFDC;
+    // Compatibility jamo of each halfwidth jamo from HALFWIDTH_FIRST, 0 in the gaps
+    private static final char[] HALFWIDTH_TO_COMPATIBILITY = new char[HALFWIDTH_LAST - HALFWIDTH_FIRST + 1];
+
+    private static final int INITIAL_COUNT = 19;
+    private static final int MEDIAL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+
+    // Reverse lookups from compatibility consonants to initial and final indices, -1 where impossible
+    private static final int[] COMPATIBILITY_TO_INITIAL = new int[COMPATIBILITY_MEDIAL_BASE - COMPATIBILITY_BASE];
+    private static final int[] COMPATIBILITY_TO_FINAL = new int[COMPATIBILITY_MEDIAL_BASE - COMPATIBILITY_BASE];
+    // Initial index of a single final when it moves to the next syllable, -1 for clusters and none
+    private static final int[] FINAL_TO_INITIAL = new int[FINAL_COUNT];
+    // First and second parts of cluster finals: first as a final index, second as an initial index
+    private static final int[] CLUSTER_FIRST = new int[FINAL_COUNT];
+    private static final int[] CLUSTER_SECOND = new int[FINAL_COUNT];
+    // Cluster final formed by two finals, indexed by first * FINAL_COUNT + second, 0 when none
+    private static final int[] FINAL_CLUSTERS = new int[FINAL_COUNT * FINAL_COUNT];
+    // Compound vowel formed by two medials, indexed by first * MEDIAL_COUNT + second, -1 when none
+    private static final int[] MEDIAL_COMPOUNDS = new int[MEDIAL_COUNT * MEDIAL_COUNT];
+    static {
+        String initials = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+        String finals = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+        for (int i = 0; i < COMPATIBILITY_TO_INITIAL.length; i++) {
+            char c = (char) (COMPATIBILITY_BASE + i);
+            COMPATIBILITY_TO_INITIAL[i] = initials.indexOf(c);
+            int f = finals.indexOf(c);
+            COMPATIBILITY_TO_FINAL[i] = f < 0 ? -1 : f + 1;
+        }
+
+        Arrays.fill(FINAL_TO_INITIAL, -1);
+        Arrays.fill(CLUSTER_FIRST, -1);
+        Arrays.fill(MEDIAL_COMPOUNDS, -1);
+        for (int i = 0; i < initials.length(); i++) {
+            int f = finals.indexOf(initials.charAt(i));
+            if (f >= 0) {
+                FINAL_TO_INITIAL[f + 1] = i;
+            }
+        }
+
+        // ㄳ ㄵ ㄶ ㄺ ㄻ ㄼ ㄽ ㄾ ㄿ ㅀ ㅄ as (cluster, first, second)
+        String clusters = "ㄳㄱㅅㄵㄴㅈㄶㄴㅎㄺㄹㄱㄻㄹㅁㄼㄹㅂㄽㄹㅅㄾㄹㅌㄿㄹㅍㅀㄹㅎㅄㅂㅅ";
+        for (int i = 0; i < clusters.length(); i += 3) {
+            int cluster = finals.indexOf(clusters.charAt(i)) + 1;
+            int first = finals.indexOf(clusters.charAt(i + 1)) + 1;
+            int second = finals.indexOf(clusters.charAt(i + 2)) + 1;
+            CLUSTER_FIRST[cluster] = first;
+            CLUSTER_SECOND[cluster] = initials.indexOf(clusters.charAt(i + 2));
+            FINAL_CLUSTERS[first * FINAL_COUNT + second] = cluster;
+        }
+
+        // Consonants map one to one; vowels come in groups starting at U+FFC2, U+FFCA, U+FFD2 and U+FFDA
+        for (int i = 0; i <= COMPATIBILITY_MEDIAL_BASE - 1 - COMPATIBILITY_BASE; i++) {
+            HALFWIDTH_TO_COMPATIBILITY[i] = (char) (COMPATIBILITY_BASE + i);
+        }
+        char vowel = COMPATIBILITY_MEDIAL_BASE;
+        for (char group = 0xFFC2; group <= 0xFFDA; group += 8) {
+            for (int i = 0; i < 6 && vowel <= COMPATIBILITY_LAST; i++) {
+                HALFWIDTH_TO_COMPATIBILITY[group + i - HALFWIDTH_FIRST] = vowel++;
+            }
+        }
+
+        // ㅘ ㅙ ㅚ ㅝ ㅞ ㅟ ㅢ as (compound, first, second)
+        String compounds = "ㅘㅗㅏㅙㅗㅐㅚㅗㅣㅝㅜㅓㅞㅜㅔㅟㅜㅣㅢㅡㅣ";
+        for (int i = 0; i < compounds.length(); i += 3) {
+            MEDIAL_COMPOUNDS[(compounds.charAt(i + 1) - COMPATIBILITY_MEDIAL_BASE) * MEDIAL_COUNT
+                             + compounds.charAt(i + 2) - COMPATIBILITY_MEDIAL_BASE] =
+                compounds.charAt(i) - COMPATIBILITY_MEDIAL_BASE;
+        }
+    }
+
     /**
      * Constructs a Syllable object from a Korean character.
      * 
@@ -50,38 +145,18 @@ public class Syllable {
      */
     public Syllable(char character) {
         this.character = character;
-        SyllableDecomposition decomposition = separateSyllable(character);
         
-        if (decomposition.isHangul) {
-            this.initial = UNICODE_INITIAL.get(decomposition.initial);
-            this.medial = UNICODE_MEDIAL.get(decomposition.medial);
-            this.finalConsonant = UNICODE_FINAL.get(decomposition.finalIndex);
+        if (isHangul(character)) {
+            this.initial = UNICODE_INITIAL.get(initialIndex(character));
+            this.medial = UNICODE_MEDIAL.get(medialIndex(character));
+            this.finalConsonant = UNICODE_FINAL.get(finalIndex(character));
         } else {
-            this.initial = String.valueOf((char) decomposition.initial);
+            this.initial = String.valueOf(character);
             this.medial = null;
             this.finalConsonant = null;
         }
     }
 
-    /**
-     * Separates a character into its constituent parts.
-     * 
-     * @param character The character to separate
-     * @return SyllableDecomposition containing the decomposed parts
-     */
-    private SyllableDecomposition separateSyllable(char character) {
-        if (isHangul(character)) {
-            int charCode = character - UNICODE_OFFSET;
-            int initial = charCode / UNICODE_INITIAL_OFFSET;
-            int medial = (charCode - UNICODE_INITIAL_OFFSET * initial) / UNICODE_MEDIAL_OFFSET;
-            int finalIndex = charCode - UNICODE_INITIAL_OFFSET * initial - UNICODE_MEDIAL_OFFSET * medial;
-            
-            return new SyllableDecomposition(true, initial, medial, finalIndex);
-        } else {
-            return new SyllableDecomposition(false, (int) character, 0, 0);
-        }
-    }
-
     /**
      * Constructs a syllable from its constituent parts.
      * 
@@ -92,9 +167,13 @@ public class Syllable {
      */
     public char constructSyllable(String initial, String medial, String finalConsonant) {
         if (isHangul(this.character)) {
-            int initialIndex = UNICODE_INITIAL.indexOf(initial);
-            int medialIndex = UNICODE_MEDIAL.indexOf(medial);
-            int finalIndex = finalConsonant == null ? 0 : UNICODE_FINAL.indexOf(finalConsonant);
+            int initialIndex = jamoIndex(initial, CONJOINING_INITIAL_BASE, INITIAL_COUNT);
+            int medialIndex = jamoIndex(medial, COMPATIBILITY_MEDIAL_BASE, MEDIAL_COUNT);
+            int finalIndex = 0;
+            if (finalConsonant != null) {
+                finalIndex = jamoIndex(finalConsonant, (char) (CONJOINING_FINAL_BASE + 1), FINAL_COUNT - 1);
+                finalIndex = finalIndex < 0 ? -1 : finalIndex + 1;
+            }
             
             int constructed = (initialIndex * UNICODE_INITIAL_OFFSET) + 
                              (medialIndex * UNICODE_MEDIAL_OFFSET) + 
@@ -112,10 +191,451 @@ public class Syllable {
      * @param character The character to check
      * @return true if the character is Hangul, false otherwise
      */
-    private boolean isHangul(char character) {
+    static boolean isHangul(char character) {
         return character >= 0xAC00 && character <= 0xD7A3;
     }
 
+    /**
+     * Decomposes a whole buffer into jamo indices in one pass, without allocating.
+     * For each character, initials, medials and finals receive the choseong (0-18),
+     * jungseong (0-20) and jongseong (0-27, 0 meaning none) indices, or {@link #NOT_HANGUL}
+     * for characters that are not Hangul syllables. The loop is branch-free so the JIT can
+     * unroll and vectorize it.
+     * 
+     * @param text The characters to decompose
+     * @param offset The first character to decompose
+     * @param length The number of characters to decompose
+     * @param initials Receives the initial indices, from outOffset
+     * @param medials Receives the medial indices, from outOffset
+     * @param finals Receives the final indices, from outOffset
+     * @param outOffset The first index to write in the output arrays
+     * @return The number of Hangul syllables in the range
+     */
+    public static int decompose(char[] text, int offset, int length,
+                                int[] initials, int[] medials, int[] finals, int outOffset) {
+        int syllables = 0;
+        for (int i = 0; i < length; i++) {
+            int code = text[offset + i] - UNICODE_OFFSET;
+            // All ones when the character is outside the syllable block, zero inside
+            int outside = (code | (UNICODE_SYLLABLE_COUNT - 1 - code)) >> 31;
+            initials[outOffset + i] = (code / UNICODE_INITIAL_OFFSET) | outside;
+            medials[outOffset + i] = (code % UNICODE_INITIAL_OFFSET / UNICODE_MEDIAL_OFFSET) | outside;
+            finals[outOffset + i] = (code % UNICODE_MEDIAL_OFFSET) | outside;
+            syllables += 1 + outside;
+        }
+        return syllables;
+    }
+
+    /**
+     * Decomposes a character sequence into jamo indices in one pass, without allocating.
+     * See {@link #decompose(char[], int, int, int[], int[], int[], int)} for the output format.
+     * 
+     * @param text The characters to decompose; the output arrays must be at least this long
+     * @param initials Receives the initial indices
+     * @param medials Receives the medial indices
+     * @param finals Receives the final indices
+     * @return The number of Hangul syllables in the text
+     */
+    public static int decompose(CharSequence text, int[] initials, int[] medials, int[] finals) {
+        int length = text.length();
+        int syllables = 0;
+        for (int i = 0; i < length; i++) {
+            int code = text.charAt(i) - UNICODE_OFFSET;
+            int outside = (code | (UNICODE_SYLLABLE_COUNT - 1 - code)) >> 31;
+            initials[i] = (code / UNICODE_INITIAL_OFFSET) | outside;
+            medials[i] = (code % UNICODE_INITIAL_OFFSET / UNICODE_MEDIAL_OFFSET) | outside;
+            finals[i] = (code % UNICODE_MEDIAL_OFFSET) | outside;
+            syllables += 1 + outside;
+        }
+        return syllables;
+    }
+
+    /**
+     * Decomposes a buffer into one packed int per character, without allocating.
+     * A Hangul syllable is packed as {@code initial << 10 | medial << 5 | final} and is never
+     * negative; any other character c is stored as {@code ~c}, so it can be recovered with
+     * {@link #packedCharacter(int)}.
+     * 
+     * @param text The characters to decompose
+     * @param offset The first character to decompose
+     * @param length The number of characters to decompose
+     * @param packed Receives the packed decompositions, from outOffset
+     * @param outOffset The first index to write in the output array
+     * @return The number of Hangul syllables in the range
+     */
+    public static int decomposePacked(char[] text, int offset, int length, int[] packed, int outOffset) {
+        int syllables = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text[offset + i];
+            int code = c - UNICODE_OFFSET;
+            int outside = (code | (UNICODE_SYLLABLE_COUNT - 1 - code)) >> 31;
+            int jamo = (code / UNICODE_INITIAL_OFFSET) << PACKED_INITIAL_SHIFT
+                     | (code % UNICODE_INITIAL_OFFSET / UNICODE_MEDIAL_OFFSET) << PACKED_MEDIAL_SHIFT
+                     | (code % UNICODE_MEDIAL_OFFSET);
+            packed[outOffset + i] = (jamo & ~outside) | (~c & outside);
+            syllables += 1 + outside;
+        }
+        return syllables;
+    }
+
+    /**
+     * Decomposes a character sequence into one packed int per character, without allocating.
+     * See {@link #decomposePacked(char[], int, int, int[], int)} for the packing.
+     * 
+     * @param text The characters to decompose; the output array must be at least this long
+     * @param packed Receives the packed decompositions
+     * @return The number of Hangul syllables in the text
+     */
+    public static int decomposePacked(CharSequence text, int[] packed) {
+        int length = text.length();
+        int syllables = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int code = c - UNICODE_OFFSET;
+            int outside = (code | (UNICODE_SYLLABLE_COUNT - 1 - code)) >> 31;
+            int jamo = (code / UNICODE_INITIAL_OFFSET) << PACKED_INITIAL_SHIFT
+                     | (code % UNICODE_INITIAL_OFFSET / UNICODE_MEDIAL_OFFSET) << PACKED_MEDIAL_SHIFT
+                     | (code % UNICODE_MEDIAL_OFFSET);
+            packed[i] = (jamo & ~outside) | (~c & outside);
+            syllables += 1 + outside;
+        }
+        return syllables;
+    }
+
+    /**
+     * Checks whether a packed decomposition holds a Hangul syllable.
+     * 
+     * @param packed A value produced by decomposePacked
+     * @return true for a Hangul syllable
+     */
+    public static boolean isPackedHangul(int packed) {
+        return packed >= 0;
+    }
+
+    /**
+     * Gets the initial index of a packed Hangul syllable.
+     * 
+     * @param packed A value produced by decomposePacked
+     * @return The choseong index (0-18), or {@link #NOT_HANGUL}
+     */
+    public static int packedInitial(int packed) {
+        return packed < 0 ? NOT_HANGUL : packed >>> PACKED_INITIAL_SHIFT;
+    }
+
+    /**
+     * Gets the medial index of a packed Hangul syllable.
+     * 
+     * @param packed A value produced by decomposePacked
+     * @return The jungseong index (0-20), or {@link #NOT_HANGUL}
+     */
+    public static int packedMedial(int packed) {
+        return packed < 0 ? NOT_HANGUL : (packed >>> PACKED_MEDIAL_SHIFT) & PACKED_MASK;
+    }
+
+    /**
+     * Gets the final index of a packed Hangul syllable.
+     * 
+     * @param packed A value produced by decomposePacked
+     * @return The jongseong index (0-27, 0 meaning none), or {@link #NOT_HANGUL}
+     */
+    public static int packedFinal(int packed) {
+        return packed < 0 ? NOT_HANGUL : packed & PACKED_MASK;
+    }
+
+    /**
+     * Recovers the original character from a packed decomposition.
+     * 
+     * @param packed A value produced by decomposePacked
+     * @return The character that was decomposed
+     */
+    public static char packedCharacter(int packed) {
+        if (packed < 0) {
+            return (char) ~packed;
+        }
+        int initial = packed >>> PACKED_INITIAL_SHIFT;
+        int medial = (packed >>> PACKED_MEDIAL_SHIFT) & PACKED_MASK;
+        return (char) (UNICODE_OFFSET + initial * UNICODE_INITIAL_OFFSET + medial * UNICODE_MEDIAL_OFFSET
+                       + (packed & PACKED_MASK));
+    }
+
+    /**
+     * Finds the index of a single-character jamo within a contiguous block, by arithmetic.
+     * 
+     * @return The index, or -1 if the jamo is null or not in the block
+     */
+    private static int jamoIndex(String jamo, char base, int count) {
+        if (jamo == null || jamo.length() != 1) {
+            return -1;
+        }
+        int index = jamo.charAt(0) - base;
+        return index >= 0 && index < count ? index : -1;
+    }
+
+    /**
+     * Composes jamo sequences into precomposed syllables, streaming into a caller buffer.
+     * Conjoining jamo (U+1100 block, as found in NFD text) are composed as initial, vowel and
+     * optional final. Compatibility jamo (U+3131 block, as typed on a keyboard) are composed the
+     * way a two-set Korean IME does: compound vowels and cluster finals are joined, and a final
+     * moves to the next syllable when a vowel follows it. Halfwidth jamo (U+FFA0 block) are
+     * read as compatibility jamo. Anything that cannot be composed is copied unchanged.
+     * Indices are found by arithmetic and reverse lookup arrays.
+     * 
+     * @param jamo The jamo sequence, possibly mixed with other text
+     * @param out The buffer to write to; composition never produces more characters than it reads
+     * @param outOffset The first index to write in the buffer
+     * @return The number of characters written
+     */
+    public static int compose(CharSequence jamo, char[] out, int outOffset) {
+        return compose(jamo, out, outOffset, true);
+    }
+
+    /**
+     * Normalizes decomposed Hangul into precomposed syllables, streaming into a caller buffer.
+     * Conjoining jamo (NFD) and halfwidth jamo are composed as by {@link #compose(CharSequence, char[], int)};
+     * standalone compatibility jamo such as ㄱ or ㅠ are left as written, since they are
+     * meaningful on their own.
+     * 
+     * @param text The text to normalize
+     * @param out The buffer to write to; normalization never produces more characters than it reads
+     * @param outOffset The first index to write in the buffer
+     * @return The number of characters written
+     */
+    public static int normalize(CharSequence text, char[] out, int outOffset) {
+        return compose(text, out, outOffset, false);
+    }
+
+    /**
+     * Normalizes decomposed Hangul into precomposed syllables.
+     * Text without conjoining or halfwidth jamo is returned as is, without copying.
+     * 
+     * @param text The text to normalize, may be null
+     * @return The normalized text
+     * @see #normalize(CharSequence, char[], int)
+     */
+    public static String normalize(String text) {
+        if (text == null || !needsNormalization(text)) {
+            return text;
+        }
+        char[] out = new char[text.length()];
+        return new String(out, 0, compose(text, out, 0, false));
+    }
+
+    /**
+     * Checks whether a text contains conjoining or halfwidth jamo.
+     */
+    static boolean needsNormalization(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isDecomposedJamo(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a character is a conjoining or halfwidth jamo, which normalization may compose.
+     */
+    static boolean isDecomposedJamo(char c) {
+        return (c >= CONJOINING_INITIAL_BASE && c < CONJOINING_FINAL_BASE + FINAL_COUNT)
+               || (c >= HALFWIDTH_FIRST && c <= HALFWIDTH_LAST);
+    }
+
+    /**
+     * Composes jamo into syllables; compatibility jamo are only combined when composeCompatibility
+     * is set, while halfwidth jamo always are.
+     */
+    private static int compose(CharSequence jamo, char[] out, int outOffset, boolean composeCompatibility) {
+        int pos = outOffset;
+        int initial = -1;
+        int medial = -1;
+        int fin = 0;
+        // Whether the final came from a compatibility consonant, and may still move to the next syllable
+        boolean movableFinal = false;
+        // The character that started a syllable, written back if no vowel follows it
+        char pending = 0;
+
+        int length = jamo.length();
+        for (int i = 0; i < length; i++) {
+            char c = jamo.charAt(i);
+            boolean composable = composeCompatibility;
+            if (c >= HALFWIDTH_FIRST && c <= HALFWIDTH_LAST && HALFWIDTH_TO_COMPATIBILITY[c - HALFWIDTH_FIRST] != 0) {
+                c = HALFWIDTH_TO_COMPATIBILITY[c - HALFWIDTH_FIRST];
+                composable = true;
+            }
+            int compat = c - COMPATIBILITY_BASE;
+
+            if (composable && compat >= 0 && c < COMPATIBILITY_MEDIAL_BASE) {
+                // Compatibility consonant
+                int asFinal = COMPATIBILITY_TO_FINAL[compat];
+                if (medial >= 0 && fin == 0 && asFinal > 0) {
+                    fin = asFinal;
+                    movableFinal = true;
+                    continue;
+                }
+                if (medial >= 0 && movableFinal && asFinal > 0 && FINAL_CLUSTERS[fin * FINAL_COUNT + asFinal] > 0) {
+                    fin = FINAL_CLUSTERS[fin * FINAL_COUNT + asFinal];
+                    continue;
+                }
+                pos = flush(out, pos, initial, medial, fin, pending);
+                initial = COMPATIBILITY_TO_INITIAL[compat];
+                medial = -1;
+                fin = 0;
+                movableFinal = false;
+                pending = c;
+                if (initial < 0) {
+                    out[pos++] = c;
+                }
+            } else if (composable && c >= COMPATIBILITY_MEDIAL_BASE && c <= COMPATIBILITY_LAST) {
+                // Compatibility vowel
+                int vowel = c - COMPATIBILITY_MEDIAL_BASE;
+                if (initial >= 0 && medial < 0) {
+                    medial = vowel;
+                    continue;
+                }
+                if (initial >= 0 && fin == 0 && MEDIAL_COMPOUNDS[medial * MEDIAL_COUNT + vowel] >= 0) {
+                    medial = MEDIAL_COMPOUNDS[medial * MEDIAL_COUNT + vowel];
+                    continue;
+                }
+                if (initial >= 0 && movableFinal) {
+                    // The final (or the second half of a cluster) starts the next syllable
+                    int next;
+                    if (CLUSTER_FIRST[fin] > 0) {
+                        next = CLUSTER_SECOND[fin];
+                        fin = CLUSTER_FIRST[fin];
+                    } else {
+                        next = FINAL_TO_INITIAL[fin];
+                        fin = 0;
+                    }
+                    pos = flush(out, pos, initial, medial, fin, pending);
+                    initial = next;
+                    medial = vowel;
+                    fin = 0;
+                    movableFinal = false;
+                    continue;
+                }
+                pos = flush(out, pos, initial, medial, fin, pending);
+                initial = -1;
+                medial = -1;
+                fin = 0;
+                out[pos++] = c;
+            } else if (c >= CONJOINING_INITIAL_BASE && c < CONJOINING_INITIAL_BASE + INITIAL_COUNT) {
+                pos = flush(out, pos, initial, medial, fin, pending);
+                initial = c - CONJOINING_INITIAL_BASE;
+                medial = -1;
+                fin = 0;
+                movableFinal = false;
+                pending = c;
+            } else if (c >= CONJOINING_MEDIAL_BASE && c < CONJOINING_MEDIAL_BASE + MEDIAL_COUNT
+                       && initial >= 0 && medial < 0) {
+                medial = c - CONJOINING_MEDIAL_BASE;
+            } else if (c > CONJOINING_FINAL_BASE && c < CONJOINING_FINAL_BASE + FINAL_COUNT
+                       && medial >= 0 && fin == 0) {
+                fin = c - CONJOINING_FINAL_BASE;
+                movableFinal = false;
+            } else if (isHangul(c) && finalIndex(c) == 0) {
+                // A precomposed syllable without a final can still take one, as in NFC
+                pos = flush(out, pos, initial, medial, fin, pending);
+                initial = initialIndex(c);
+                medial = medialIndex(c);
+                fin = 0;
+                movableFinal = false;
+                pending = c;
+            } else {
+                pos = flush(out, pos, initial, medial, fin, pending);
+                initial = -1;
+                medial = -1;
+                fin = 0;
+                out[pos++] = c;
+            }
+        }
+        pos = flush(out, pos, initial, medial, fin, pending);
+        return pos - outOffset;
+    }
+
+    /**
+     * Composes a jamo sequence into precomposed syllables.
+     * See {@link #compose(CharSequence, char[], int)} for the composition rules.
+     * 
+     * @param jamo The jamo sequence, possibly mixed with other text
+     * @return The composed text
+     */
+    public static String compose(CharSequence jamo) {
+        char[] out = new char[jamo.length()];
+        return new String(out, 0, compose(jamo, out, 0));
+    }
+
+    /**
+     * Writes out the syllable being composed, or the lone consonant that started it.
+     */
+    private static int flush(char[] out, int pos, int initial, int medial, int fin, char pending) {
+        if (initial >= 0 && medial >= 0) {
+            out[pos++] = (char) (UNICODE_OFFSET + initial * UNICODE_INITIAL_OFFSET + medial * UNICODE_MEDIAL_OFFSET + fin);
+        } else if (initial >= 0) {
+            out[pos++] = pending;
+        }
+        return pos;
+    }
+
+    /**
+     * Gets the initial consonant index (0-18) of a precomposed Hangul syllable.
+     * 
+     * @param syllable A character for which {@link #isHangul(char)} holds
+     * @return The index into the choseong table
+     */
+    static int initialIndex(char syllable) {
+        return (syllable - UNICODE_OFFSET) / UNICODE_INITIAL_OFFSET;
+    }
+
+    /**
+     * Gets the medial vowel index (0-20) of a precomposed Hangul syllable.
+     * 
+     * @param syllable A character for which {@link #isHangul(char)} holds
+     * @return The index into the jungseong table
+     */
+    static int medialIndex(char syllable) {
+        return (syllable - UNICODE_OFFSET) % UNICODE_INITIAL_OFFSET / UNICODE_MEDIAL_OFFSET;
+    }
+
+    /**
+     * Gets the final consonant index (0-27, 0 meaning none) of a precomposed Hangul syllable.
+     * 
+     * @param syllable A character for which {@link #isHangul(char)} holds
+     * @return The index into the jongseong table
+     */
+    static int finalIndex(char syllable) {
+        return (syllable - UNICODE_OFFSET) % UNICODE_MEDIAL_OFFSET;
+    }
+
+    /**
+     * Gets the conjoining initial consonant jamo for an index.
+     * 
+     * @param index The choseong index (0-18)
+     * @return The jamo, e.g. "ᄀ"
+     */
+    static String initialJamo(int index) {
+        return UNICODE_INITIAL.get(index);
+    }
+
+    /**
+     * Gets the medial vowel jamo for an index.
+     * 
+     * @param index The jungseong index (0-20)
+     * @return The jamo, e.g. "ㅏ"
+     */
+    static String medialJamo(int index) {
+        return UNICODE_MEDIAL.get(index);
+    }
+
+    /**
+     * Gets the conjoining final consonant jamo for an index.
+     * 
+     * @param index The jongseong index (0-27)
+     * @return The jamo, e.g. "ᆨ", or null for index 0
+     */
+    static String finalJamo(int index) {
+        return UNICODE_FINAL.get(index);
+    }
+
     /**
      * Converts a final consonant to its corresponding initial consonant.
      * 
@@ -160,21 +680,4 @@ public class Syllable {
         constructSyllable(this.initial, this.medial, this.finalConsonant);
         return String.valueOf(this.character);
     }
-
-    /**
-     * Inner class to hold syllable decomposition results.
-     */
-    private static class SyllableDecomposition {
-        boolean isHangul;
-        int initial;
-        int medial;
-        int finalIndex;
-
-        SyllableDecomposition(boolean isHangul, int initial, int medial, int finalIndex) {
-            this.isHangul = isHangul;
-            this.initial = initial;
-            this.medial = medial;
-            this.finalIndex = finalIndex;
-        }
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
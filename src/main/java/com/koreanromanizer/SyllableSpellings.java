@@ -0,0 +1,213 @@
+package com.koreanromanizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Enumerates the real-world Latin spellings of a single Hangul syllable.
+ * Spellings come from conventional name spellings, the romanizer's surname dictionaries and a
+ * per-jamo product of common alternatives, and are scored so they can be ranked by likelihood.
+ */
+final class SyllableSpellings {
+
+    // Alternatives per initial consonant index (ᄀ ᄁ ᄂ ᄃ ᄄ ᄅ ᄆ ᄇ ᄈ ᄉ ᄊ ᄋ ᄌ ᄍ ᄎ ᄏ ᄐ ᄑ ᄒ)
+    private static final String[][] INITIAL_ALTERNATIVES = {
+        {"g", "k"}, {"kk", "gg", "k"}, {"n"}, {"d", "t"}, {"tt", "dd", "t"}, {"r", "l", "n"},
+        {"m"}, {"b", "p"}, {"pp", "bb", "p"}, {"s", "sh"}, {"ss", "s"}, {""}, {"j", "ch", "z"},
+        {"jj", "tch", "j"}, {"ch", "c"}, {"k", "kh"}, {"t", "th"}, {"p", "ph"}, {"h"}
+    };
+
+    // Alternatives per medial vowel index (ㅏ ㅐ ㅑ ㅒ ㅓ ㅔ ㅕ ㅖ ㅗ ㅘ ㅙ ㅚ ㅛ ㅜ ㅝ ㅞ ㅟ ㅠ ㅡ ㅢ ㅣ)
+    private static final String[][] MEDIAL_ALTERNATIVES = {
+        {"a", "ah"}, {"ae", "e", "ai"}, {"ya"}, {"yae", "ye"}, {"eo", "u", "o", "uh"}, {"e", "ae"},
+        {"yeo", "yu", "yo", "you"}, {"ye", "yae"}, {"o", "oh"}, {"wa"}, {"wae", "we"},
+        {"oe", "oi", "we"}, {"yo"}, {"u", "oo"}, {"wo", "weo"}, {"we"}, {"wi", "wee"},
+        {"yu", "yoo"}, {"eu", "u"}, {"ui", "eui", "ee"}, {"i", "ee"}
+    };
+
+    // Alternatives per final consonant index (none ᆨ ᆩ ᆪ ᆫ ᆬ ᆭ ᆮ ᆯ ᆰ ᆱ ᆲ ᆳ ᆴ ᆵ ᆶ ᆷ ᆸ ᆹ ᆺ ᆻ ᆼ ᆽ ᆾ ᆿ ᇀ ᇁ ᇂ)
+    private static final String[][] FINAL_ALTERNATIVES = {
+        {""}, {"k", "g"}, {"k"}, {"k"}, {"n"}, {"n"}, {"n"}, {"t", "d"}, {"l", "r"}, {"k", "l"},
+        {"m"}, {"l"}, {"l"}, {"l"}, {"p"}, {"l"}, {"m"}, {"p", "b"}, {"p"}, {"t", "s"}, {"t"},
+        {"ng"}, {"t"}, {"t"}, {"k"}, {"t"}, {"p"}, {"t"}
+    };
+
+    // ㅅ is commonly written "sh" only before i and y-glide vowels
+    private static final boolean[] SH_MEDIALS = {
+        false, false, true, true, false, false, true, true, false, false, false,
+        false, true, false, false, false, true, true, false, false, true
+    };
+
+    private static final int SIOT = 9;
+
+    // Conventional whole-syllable spellings that do not follow from the jamo alternatives
+    // Source: passport usage, surname statistics and common given name spellings
+    private static final Map<Character, String[]> CONVENTIONAL = new HashMap<>();
+    static {
+        CONVENTIONAL.put('김', new String[]{"Kim", "Gim", "Ghim"});
+        CONVENTIONAL.put('이', new String[]{"Lee", "Yi", "Rhee", "I", "Ri", "Rhie"});
+        CONVENTIONAL.put('박', new String[]{"Park", "Pak", "Bak", "Bahk"});
+        CONVENTIONAL.put('최', new String[]{"Choi", "Choe", "Chey"});
+        CONVENTIONAL.put('정', new String[]{"Jung", "Jeong", "Chung", "Cheong"});
+        CONVENTIONAL.put('강', new String[]{"Kang", "Gang", "Kahng"});
+        CONVENTIONAL.put('조', new String[]{"Cho", "Jo", "Joe"});
+        CONVENTIONAL.put('윤', new String[]{"Yoon", "Yun"});
+        CONVENTIONAL.put('장', new String[]{"Jang", "Chang"});
+        CONVENTIONAL.put('임', new String[]{"Lim", "Im", "Rim", "Yim"});
+        CONVENTIONAL.put('한', new String[]{"Han", "Hahn"});
+        CONVENTIONAL.put('오', new String[]{"Oh", "O"});
+        CONVENTIONAL.put('서', new String[]{"Seo", "Suh", "Sur"});
+        CONVENTIONAL.put('신', new String[]{"Shin", "Sin"});
+        CONVENTIONAL.put('권', new String[]{"Kwon", "Gwon"});
+        CONVENTIONAL.put('황', new String[]{"Hwang", "Whang"});
+        CONVENTIONAL.put('안', new String[]{"Ahn", "An"});
+        CONVENTIONAL.put('송', new String[]{"Song"});
+        CONVENTIONAL.put('류', new String[]{"Ryu", "Yoo", "Yu", "Lyu"});
+        CONVENTIONAL.put('유', new String[]{"Yoo", "Yu", "You"});
+        CONVENTIONAL.put('전', new String[]{"Jeon", "Jun", "Chun", "Chon"});
+        CONVENTIONAL.put('홍', new String[]{"Hong"});
+        CONVENTIONAL.put('고', new String[]{"Ko", "Go", "Koh"});
+        CONVENTIONAL.put('문', new String[]{"Moon", "Mun"});
+        CONVENTIONAL.put('양', new String[]{"Yang"});
+        CONVENTIONAL.put('손', new String[]{"Son", "Sohn"});
+        CONVENTIONAL.put('배', new String[]{"Bae", "Pae"});
+        CONVENTIONAL.put('백', new String[]{"Baek", "Paek", "Baik"});
+        CONVENTIONAL.put('허', new String[]{"Heo", "Huh", "Hur"});
+        CONVENTIONAL.put('노', new String[]{"Noh", "No", "Roh", "Ro"});
+        CONVENTIONAL.put('남', new String[]{"Nam"});
+        CONVENTIONAL.put('심', new String[]{"Shim", "Sim"});
+        CONVENTIONAL.put('곽', new String[]{"Kwak", "Gwak"});
+        CONVENTIONAL.put('성', new String[]{"Sung", "Seong"});
+        CONVENTIONAL.put('주', new String[]{"Joo", "Ju", "Chu"});
+        CONVENTIONAL.put('우', new String[]{"Woo", "U"});
+        CONVENTIONAL.put('구', new String[]{"Koo", "Gu", "Ku"});
+        CONVENTIONAL.put('진', new String[]{"Jin", "Chin"});
+        CONVENTIONAL.put('나', new String[]{"Na", "Ra"});
+        CONVENTIONAL.put('지', new String[]{"Ji", "Chi"});
+        CONVENTIONAL.put('엄', new String[]{"Um", "Eom"});
+        CONVENTIONAL.put('천', new String[]{"Chun", "Cheon"});
+        CONVENTIONAL.put('현', new String[]{"Hyun", "Hyeon"});
+        CONVENTIONAL.put('변', new String[]{"Byun", "Byeon", "Pyun"});
+        CONVENTIONAL.put('염', new String[]{"Yeom", "Yum"});
+        CONVENTIONAL.put('여', new String[]{"Yeo", "Yuh"});
+        CONVENTIONAL.put('추', new String[]{"Choo", "Chu"});
+        CONVENTIONAL.put('도', new String[]{"Do", "Doh"});
+        CONVENTIONAL.put('석', new String[]{"Seok", "Suk"});
+        CONVENTIONAL.put('선', new String[]{"Sun", "Seon"});
+        CONVENTIONAL.put('설', new String[]{"Seol", "Sul"});
+        CONVENTIONAL.put('길', new String[]{"Gil", "Kil"});
+        CONVENTIONAL.put('연', new String[]{"Yeon", "Yun"});
+        CONVENTIONAL.put('위', new String[]{"Wi", "Wee"});
+        CONVENTIONAL.put('명', new String[]{"Myung", "Myeong"});
+        CONVENTIONAL.put('금', new String[]{"Keum", "Geum"});
+        CONVENTIONAL.put('육', new String[]{"Yuk", "Yook"});
+        CONVENTIONAL.put('국', new String[]{"Kook", "Guk"});
+        CONVENTIONAL.put('어', new String[]{"Eo", "Uh"});
+        CONVENTIONAL.put('편', new String[]{"Pyeon", "Pyun"});
+        CONVENTIONAL.put('예', new String[]{"Ye", "Yeh"});
+        CONVENTIONAL.put('경', new String[]{"Kyung", "Gyeong"});
+        CONVENTIONAL.put('형', new String[]{"Hyung", "Hyeong"});
+        CONVENTIONAL.put('계', new String[]{"Kye", "Gye"});
+        CONVENTIONAL.put('범', new String[]{"Beom", "Bum"});
+        // Frequent given name syllables
+        CONVENTIONAL.put('준', new String[]{"Jun", "Joon"});
+        CONVENTIONAL.put('수', new String[]{"Soo", "Su"});
+        CONVENTIONAL.put('영', new String[]{"Young", "Yeong", "Yung"});
+        CONVENTIONAL.put('훈', new String[]{"Hoon", "Hun"});
+        CONVENTIONAL.put('혁', new String[]{"Hyuk", "Hyeok"});
+        CONVENTIONAL.put('희', new String[]{"Hee", "Hui"});
+        CONVENTIONAL.put('은', new String[]{"Eun"});
+        CONVENTIONAL.put('숙', new String[]{"Sook", "Suk"});
+        CONVENTIONAL.put('철', new String[]{"Chul", "Cheol"});
+        CONVENTIONAL.put('미', new String[]{"Mi", "Mee"});
+        CONVENTIONAL.put('재', new String[]{"Jae", "Jai"});
+        CONVENTIONAL.put('빈', new String[]{"Bin"});
+        CONVENTIONAL.put('원', new String[]{"Won"});
+    }
+
+    // Relative weight of each spelling source; later entries within a source decay geometrically
+    static final double CONVENTIONAL_WEIGHT = 1.0;
+    static final double GIVEN_NAME_WEIGHT = 0.9;
+    static final double SURNAME_WEIGHT = 0.3;
+    static final double JAMO_WEIGHT = 0.4;
+    static final double DATASET_WEIGHT = 0.5;
+    static final double RANK_DECAY = 0.3;
+
+    private SyllableSpellings() {
+    }
+
+    /**
+     * Adds the built-in spellings of a syllable to a score table.
+     * Each source adds its weight, decayed by the rank of the spelling within the source,
+     * so spellings produced by several sources accumulate a higher score.
+     *
+     * @param syllable The Hangul syllable
+     * @param surname Whether the syllable is in surname position, enabling the surname dictionaries
+     * @param scores The lower-case spelling scores to add to
+     */
+    static void addScores(char syllable, boolean surname, Map<String, Double> scores) {
+        if (!Syllable.isHangul(syllable)) {
+            return;
+        }
+
+        String[] conventional = CONVENTIONAL.get(syllable);
+        if (conventional != null) {
+            addRanked(scores, Arrays.asList(conventional), CONVENTIONAL_WEIGHT);
+        }
+        if (surname) {
+            addRanked(scores, KoreanRomanizer.lookupSurnameSpellings(String.valueOf(syllable)), SURNAME_WEIGHT);
+        }
+
+        int medial = Syllable.medialIndex(syllable);
+        int initial = Syllable.initialIndex(syllable);
+        String[] initials = INITIAL_ALTERNATIVES[initial];
+        if (initial == SIOT && !SH_MEDIALS[medial]) {
+            initials = new String[]{"s"};
+        }
+        String[] medials = MEDIAL_ALTERNATIVES[medial];
+        String[] finals = FINAL_ALTERNATIVES[Syllable.finalIndex(syllable)];
+
+        // Product of the per-jamo alternatives, ranked by the summed rank of the parts
+        for (int i = 0; i < initials.length; i++) {
+            for (int m = 0; m < medials.length; m++) {
+                for (int f = 0; f < finals.length; f++) {
+                    addScore(scores, initials[i] + medials[m] + finals[f], JAMO_WEIGHT * Math.pow(RANK_DECAY, i + m + f));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a list of spellings whose weight decays with their position in the list.
+     *
+     * @param scores The lower-case spelling scores to add to
+     * @param spellings The spellings, most likely first
+     * @param weight The weight of the first spelling
+     */
+    static void addRanked(Map<String, Double> scores, List<String> spellings, double weight) {
+        for (String spelling : spellings) {
+            addScore(scores, spelling, weight);
+            weight *= RANK_DECAY;
+        }
+    }
+
+    static void addScore(Map<String, Double> scores, String spelling, double weight) {
+        scores.merge(spelling.toLowerCase(Locale.ROOT), weight, Double::sum);
+    }
+
+    /**
+     * Orders spellings by descending score, keeping insertion order between equal scores.
+     *
+     * @param scores The spelling scores
+     * @return The spellings, most likely first
+     */
+    static List<String> ranked(Map<String, Double> scores) {
+        List<String> spellings = new ArrayList<>(scores.keySet());
+        spellings.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        return spellings;
+    }
+}
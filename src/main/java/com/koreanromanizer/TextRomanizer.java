@@ -0,0 +1,142 @@
+package com.koreanromanizer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Romanizes running text, romanizing each distinct word once.
+ * The text is split into runs of Hangul syllables; everything between runs (spaces,
+ * punctuation, Latin text, standalone jamo) romanizes on its own. Sound changes and spelling
+ * rules reach at most one character past a syllable, so a run only depends on its syllables
+ * and the characters right before and after it: a delimiter is not always neutral, since a
+ * leftover conjoining consonant such as U+1100 reads as the onset of the next syllable. The
+ * memo key is the run together with those neighbouring characters, which makes the output
+ * identical to {@link KoreanRomanizer#romanize(boolean, boolean)} of the whole text.
+ *
+ * By default words are memoized per call. With a cache size, a bounded LRU cache is shared
+ * across calls and threads.
+ */
+public final class TextRomanizer {
+    private final RomanizationScheme scheme;
+    private final CompiledScheme tables;
+    // Shared caches for romanization without and with added spaces, or null to memoize per call
+    private final LruCache cache;
+    private final LruCache spacedCache;
+
+    /**
+     * Creates a text romanizer using Revised Romanization that memoizes words per call.
+     */
+    public TextRomanizer() {
+        this(StandardScheme.REVISED_ROMANIZATION, 0);
+    }
+
+    /**
+     * Creates a text romanizer.
+     *
+     * @param scheme The romanization scheme
+     * @param cacheSize The number of words to keep in a cache shared across calls, or 0 to memoize per call
+     */
+    public TextRomanizer(RomanizationScheme scheme, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+        }
+        this.scheme = scheme;
+        this.tables = CompiledScheme.of(scheme);
+        this.cache = cacheSize > 0 ? new LruCache(cacheSize) : null;
+        this.spacedCache = cacheSize > 0 ? new LruCache(cacheSize) : null;
+    }
+
+    /**
+     * Romanizes running text.
+     *
+     * @param text The text to romanize
+     * @return The romanized text
+     */
+    public String romanize(String text) {
+        return romanize(text, false, false);
+    }
+
+    /**
+     * Romanizes running text with configurable options.
+     *
+     * @param text The text to romanize
+     * @param addSpaces Whether to add spaces between syllables
+     * @param titleCase Whether to convert to title case
+     * @return The romanized text
+     */
+    public String romanize(String text, boolean addSpaces, boolean titleCase) {
+        text = Syllable.normalize(text);
+        if (text.length() <= KoreanRomanizer.LONGEST_DICTIONARY_ENTRY) {
+            // Short enough to be a dictionary name, and too short to benefit from memoization
+            return new KoreanRomanizer(text, scheme).romanize(addSpaces, titleCase);
+        }
+
+        Map<String, String> memo = cache == null ? new HashMap<>() : addSpaces ? spacedCache : cache;
+        int length = text.length();
+        StringBuilder out = new StringBuilder(length * 3);
+        int i = 0;
+        while (i < length) {
+            if (!Syllable.isHangul(text.charAt(i))) {
+                tables.romanize(text, i, i + 1, addSpaces, out);
+                i++;
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < length && Syllable.isHangul(text.charAt(end))) {
+                end++;
+            }
+            String key = text.substring(i > 0 ? i - 1 : 0, end < length ? end + 1 : end);
+            String word = memo.get(key);
+            if (word == null) {
+                word = romanizeWord(key, i > 0 ? 1 : 0, end - i, addSpaces);
+                memo.put(key, word);
+            }
+            out.append(word);
+            i = end;
+        }
+
+        String result = out.toString();
+        return titleCase ? KoreanRomanizer.toTitleCase(result) : result;
+    }
+
+    /**
+     * Romanizes the word at [from, from + length) of its context.
+     */
+    private String romanizeWord(String context, int from, int length, boolean addSpaces) {
+        String source = tables.appliesPronunciationRules() ? new Pronouncer(context).getPronounced() : context;
+        StringBuilder sb = new StringBuilder(length * 4);
+        tables.romanize(source, from, from + length, addSpaces, sb);
+        return sb.toString();
+    }
+
+    /**
+     * A bounded, synchronized least-recently-used cache.
+     */
+    private static final class LruCache extends LinkedHashMap<String, String> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        LruCache(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+
+        @Override
+        public synchronized String get(Object key) {
+            return super.get(key);
+        }
+
+        @Override
+        public synchronized String put(String key, String value) {
+            return super.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for coalescing concurrent romanization calls.
+ */
+public class CoalescingRomanizerTest {
+
+    @Test
+    public void testSingleCall() throws Exception {
+        try (CoalescingRomanizer romanizer = new CoalescingRomanizer(RomanizationMethod.FULL_NAME, Duration.ofMillis(1), 16)) {
+            assertEquals(KoreanRomanizer.romanizeFullName("김민준"),
+                         romanizer.romanizeAsync("김민준").get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testConcurrentCalls() throws Exception {
+        String[] names = {"김민준", "이서연", "박지우", "최현우", "정하은"};
+        ExecutorService threads = Executors.newFixedThreadPool(16);
+        try (CoalescingRomanizer romanizer = new CoalescingRomanizer(RomanizationMethod.FULL_NAME, Duration.ofMillis(5), 64)) {
+            List<Future<CompletableFuture<String>>> calls = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String name = names[i % names.length];
+                calls.add(threads.submit(() -> romanizer.romanizeAsync(name)));
+            }
+            for (int i = 0; i < calls.size(); i++) {
+                assertEquals(KoreanRomanizer.romanizeFullName(names[i % names.length]),
+                             calls.get(i).get().get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        CoalescingRomanizer romanizer = new CoalescingRomanizer(RomanizationMethod.ROMANIZE, Duration.ZERO, 1);
+        CompletableFuture<String> pending = romanizer.romanizeAsync("한국");
+        romanizer.close();
+        assertEquals(KoreanRomanizer.romanize("한국"), pending.get(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> romanizer.romanizeAsync("한국"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the columnar arena romanizer.
+ */
+public class ColumnarRomanizerTest {
+
+    private static final List<String> ROWS = List.of("김민준", "", "서울 café", "이서연", "한글😀", "박지우");
+
+    private static int[] offsets(List<String> rows, boolean utf8) {
+        int[] offsets = new int[rows.size() + 1];
+        for (int i = 0; i < rows.size(); i++) {
+            String row = rows.get(i);
+            offsets[i + 1] = offsets[i] + (utf8 ? row.getBytes(StandardCharsets.UTF_8).length : row.length());
+        }
+        return offsets;
+    }
+
+    private static void assertRows(ColumnarRomanizer romanizer, RomanizationMethod method) {
+        assertEquals(ROWS.size(), romanizer.size());
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < ROWS.size(); i++) {
+            String result = method.apply(ROWS.get(i));
+            assertEquals(result, romanizer.get(i));
+            expected.append(result);
+        }
+        byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+        int length = romanizer.getOffsets()[ROWS.size()];
+        assertEquals(bytes.length, length);
+        assertArrayEquals(bytes, Arrays.copyOf(romanizer.getBytes(), length));
+    }
+
+    @Test
+    public void testCharColumn() {
+        ColumnarRomanizer romanizer = new ColumnarRomanizer(RomanizationMethod.FULL_NAME, 1);
+        int length = romanizer.romanize(String.join("", ROWS).toCharArray(), offsets(ROWS, false), ROWS.size());
+        assertEquals(length, romanizer.getOffsets()[ROWS.size()]);
+        assertRows(romanizer, RomanizationMethod.FULL_NAME);
+    }
+
+    @Test
+    public void testUtf8Column() {
+        ColumnarRomanizer romanizer = new ColumnarRomanizer(RomanizationMethod.ROMANIZE);
+        romanizer.romanizeUtf8(String.join("", ROWS).getBytes(StandardCharsets.UTF_8), offsets(ROWS, true), ROWS.size());
+        assertRows(romanizer, RomanizationMethod.ROMANIZE);
+    }
+
+    @Test
+    public void testArenaIsReused() {
+        ColumnarRomanizer romanizer = new ColumnarRomanizer(RomanizationMethod.NAME);
+        char[] chars = String.join("", ROWS).toCharArray();
+        romanizer.romanize(chars, offsets(ROWS, false), ROWS.size());
+        byte[] arena = romanizer.getBytes();
+        int[] offsets = romanizer.getOffsets();
+
+        romanizer.romanize(chars, offsets(ROWS, false), 2);
+        assertSame(arena, romanizer.getBytes());
+        assertSame(offsets, romanizer.getOffsets());
+        assertEquals(2, romanizer.size());
+        assertEquals(KoreanRomanizer.romanizeName("김민준"), romanizer.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> romanizer.get(2));
+    }
+
+    @Test
+    public void testMatchesStringRomanization() {
+        Random random = new Random(17);
+        String alphabet = "김이박민준서연국물닭값않좋아 .a\u1100\u110B\u1161\u11A8\uFFA1\uFFC2ㄱ";
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder row = new StringBuilder();
+            for (int n = random.nextInt(8); n > 0; n--) {
+                row.append(random.nextBoolean() ? (char) (0xAC00 + random.nextInt(11172))
+                                                : alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            rows.add(row.toString());
+        }
+        rows.addAll(List.of("김", "이", "민준", "서연", "김민준"));
+
+        for (RomanizationMethod method : RomanizationMethod.values()) {
+            ColumnarRomanizer romanizer = new ColumnarRomanizer(method, 16);
+            romanizer.romanize(String.join("", rows).toCharArray(), offsets(rows, false), rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                assertEquals(method.apply(rows.get(i)), romanizer.get(i), rows.get(i));
+            }
+            romanizer.romanizeUtf8(String.join("", rows).getBytes(StandardCharsets.UTF_8), offsets(rows, true), rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                assertEquals(method.apply(rows.get(i)), romanizer.get(i), rows.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testMalformedUtf8() {
+        ByteArrayOutputStream column = new ByteArrayOutputStream();
+        byte[] name = "김민준".getBytes(StandardCharsets.UTF_8);
+        column.write(name, 0, name.length);
+        // A truncated syllable, then a stray continuation byte
+        column.write(name, 0, 2);
+        column.write(0x80);
+        byte[] utf8 = column.toByteArray();
+        int[] offsets = {0, name.length, utf8.length};
+
+        ColumnarRomanizer romanizer = new ColumnarRomanizer(RomanizationMethod.ROMANIZE);
+        romanizer.romanizeUtf8(utf8, offsets, 2);
+        assertEquals(KoreanRomanizer.romanize("김민준"), romanizer.get(0));
+        String decoded = new String(utf8, name.length, utf8.length - name.length, StandardCharsets.UTF_8);
+        assertEquals(KoreanRomanizer.romanize(decoded), romanizer.get(1));
+    }
+
+    @Test
+    public void testInvalidOffsets() {
+        ColumnarRomanizer romanizer = new ColumnarRomanizer(RomanizationMethod.ROMANIZE);
+        char[] chars = "가나".toCharArray();
+        assertThrows(IllegalArgumentException.class, () -> romanizer.romanize(chars, new int[] {0, 1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> romanizer.romanize(chars, new int[] {0, 3}, 1));
+        assertThrows(IllegalArgumentException.class, () -> romanizer.romanize(chars, new int[] {0, 2, 1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarRomanizer(RomanizationMethod.ROMANIZE, 0));
+    }
+}
@@ -0,0 +1,122 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for external-memory deduplicating romanization.
+ */
+public class ExternalDeduplicatorTest {
+
+    private static List<String> names(int rows, int distinct) {
+        List<String> names = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int n = i * 31 % distinct;
+            names.add(new String(new char[] {"김이박최정".charAt(n % 5), (char) (0xAC00 + n * 97 % 11172), (char) (0xAC00 + n * 53 % 11172)}));
+        }
+        return names;
+    }
+
+    private static void assertNoSpillFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of(), files.filter(Files::isDirectory).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testRomanizesInOrder(@TempDir Path dir) throws IOException {
+        List<String> names = names(10000, 200);
+        names.set(17, null);
+        List<String> results = new ArrayList<>();
+        ExternalDeduplicator.Summary summary = new ExternalDeduplicator(RomanizationMethod.FULL_NAME, 8, dir)
+            .romanize(names.iterator(), results::add);
+
+        assertEquals(10000, summary.getRows());
+        assertEquals(1, summary.getNulls());
+        assertEquals(200, summary.getDistinct());
+        assertEquals((9999 - 200) / 9999.0, summary.getDuplicateRatio(), 1e-9);
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(names.get(i) == null ? null : KoreanRomanizer.romanizeFullName(names.get(i)), results.get(i));
+        }
+        assertNoSpillFiles(dir);
+    }
+
+    @Test
+    public void testFiles(@TempDir Path dir) throws IOException {
+        List<String> names = names(3000, 40);
+        Path input = dir.resolve("names.txt");
+        Path output = dir.resolve("names_en.txt");
+        Files.write(input, names, StandardCharsets.UTF_8);
+
+        ExternalDeduplicator.Summary summary = new ExternalDeduplicator(RomanizationMethod.NAME, 1, dir).romanize(input, output);
+        assertEquals(40, summary.getDistinct());
+        assertEquals(names.stream().map(KoreanRomanizer::romanizeName).collect(Collectors.toList()),
+                     Files.readAllLines(output, StandardCharsets.UTF_8));
+        assertNoSpillFiles(dir);
+    }
+
+    @Test
+    public void testEmptyInput(@TempDir Path dir) throws IOException {
+        List<String> results = new ArrayList<>();
+        ExternalDeduplicator.Summary summary = new ExternalDeduplicator(RomanizationMethod.ROMANIZE, 4, dir)
+            .romanize(Arrays.<String>asList().iterator(), results::add);
+        assertEquals(0, summary.getRows());
+        assertEquals(0.0, summary.getDuplicateRatio());
+        assertEquals(List.of(), results);
+    }
+
+    @Test
+    public void testNullsAreNotDuplicates(@TempDir Path dir) throws IOException {
+        List<String> results = new ArrayList<>();
+        ExternalDeduplicator.Summary summary = new ExternalDeduplicator(RomanizationMethod.ROMANIZE, 4, dir)
+            .romanize(Arrays.asList((String) null).iterator(), results::add);
+        assertEquals(1, summary.getRows());
+        assertEquals(0.0, summary.getDuplicateRatio());
+        assertEquals("1 rows, 0 distinct (0.0% duplicates)", summary.toString());
+        assertEquals(Arrays.asList((String) null), results);
+    }
+
+    @Test
+    public void testPartitionsSpreadValues() {
+        int partitions = 256;
+        int[] sizes = new int[partitions];
+        // HashMap bucket bits of the values in partition 0, for a 256-bucket table
+        Set<Integer> buckets = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            String value = "값" + i;
+            int partition = ExternalDeduplicator.partitionOf(value, partitions);
+            sizes[partition]++;
+            if (partition == 0) {
+                int h = value.hashCode();
+                buckets.add((h ^ (h >>> 16)) & (partitions - 1));
+            }
+        }
+        for (int size : sizes) {
+            assertTrue(size > 250 && size < 550, "unbalanced partition: " + size);
+        }
+        assertTrue(buckets.size() > partitions / 2, "values of a partition share bucket bits: " + buckets.size());
+    }
+
+    @Test
+    public void testPartitionLimit(@TempDir Path dir) {
+        new ExternalDeduplicator(RomanizationMethod.ROMANIZE, 4096, dir);
+        assertThrows(IllegalArgumentException.class, () -> new ExternalDeduplicator(RomanizationMethod.ROMANIZE, 4097, dir));
+        assertThrows(IllegalArgumentException.class, () -> new ExternalDeduplicator(RomanizationMethod.ROMANIZE, 0, dir));
+    }
+}
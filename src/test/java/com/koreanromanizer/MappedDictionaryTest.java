@@ -0,0 +1,96 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the memory-mapped dictionary.
+ */
+public class MappedDictionaryTest {
+
+    @Test
+    public void testBuiltInTables(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.dict");
+        MappedDictionary.write(file, MappedDictionary.builtInTables());
+        MappedDictionary dictionary = MappedDictionary.open(file);
+
+        assertEquals(List.of("given_names", "surnames", "additional_surnames"), dictionary.tableNames());
+        for (Map.Entry<String, Map<String, String>> table : MappedDictionary.builtInTables().entrySet()) {
+            assertEquals(table.getValue().size(), dictionary.size(table.getKey()));
+            for (Map.Entry<String, String> entry : table.getValue().entrySet()) {
+                assertEquals(entry.getValue(), dictionary.get(table.getKey(), entry.getKey()));
+                assertEquals(KoreanRomanizer.lookupWholeText(entry.getKey()), dictionary.lookup(entry.getKey()));
+            }
+        }
+        assertNull(dictionary.lookup("가나다라"));
+        assertNull(dictionary.lookup(""));
+    }
+
+    @Test
+    public void testCustomTables(@TempDir Path dir) throws IOException {
+        Path list = dir.resolve("customers.tsv");
+        Files.write(list, List.of("# customer spellings", "김민준\tKim Minjoon", "", "이서연\tLee Seoyeon", "김민준\tIgnored"),
+                    StandardCharsets.UTF_8);
+        Map<String, Map<String, String>> tables = new LinkedHashMap<>();
+        tables.put("customers", MappedDictionary.readNameList(list));
+        tables.put("empty", Map.of());
+        Path file = dir.resolve("custom.dict");
+        MappedDictionary.write(file, tables);
+        MappedDictionary dictionary = MappedDictionary.open(file);
+
+        assertEquals("Kim Minjoon", dictionary.get("customers", new StringBuilder("김민준")));
+        assertEquals("Lee Seoyeon", dictionary.lookup("이서연"));
+        assertNull(dictionary.get("empty", "김민준"));
+        assertEquals(0, dictionary.size("empty"));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.get("missing", "김"));
+    }
+
+    @Test
+    public void testRomanizeThroughDictionary(@TempDir Path dir) throws IOException {
+        Map<String, Map<String, String>> tables = new LinkedHashMap<>();
+        tables.put("customers", Map.of("김", "Gim", "민준", "Min-Joon", "이서연", "Lee Seoyeon"));
+        Path file = dir.resolve("custom.dict");
+        MappedDictionary.write(file, tables);
+        MappedDictionary dictionary = MappedDictionary.open(file);
+
+        assertEquals("Lee Seoyeon", RomanizationMethod.ROMANIZE.apply("이서연", dictionary));
+        assertEquals("Gim Min-Joon", RomanizationMethod.FULL_NAME.apply("김민준", dictionary));
+        assertEquals("Gim", RomanizationMethod.FULL_NAME.apply("김", dictionary));
+        assertEquals(RomanizationMethod.NAME.apply("박") + " Min-Joon", RomanizationMethod.FULL_NAME.apply("박민준", dictionary));
+
+        // Text outside the dictionary romanizes as without it
+        for (RomanizationMethod method : RomanizationMethod.values()) {
+            assertEquals(method.apply("한국어"), method.apply("한국어", dictionary));
+            assertEquals(method.apply("최"), method.apply("최", dictionary));
+        }
+        assertNull(RomanizationMethod.FULL_NAME.apply(null, dictionary));
+    }
+
+    @Test
+    public void testReplaceAndReject(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.dict");
+        MappedDictionary.write(file, Map.of("a", Map.of("김", "Kim")));
+        MappedDictionary first = MappedDictionary.open(file);
+        MappedDictionary.write(file, Map.of("a", Map.of("김", "Gim")));
+
+        // The old mapping still sees the file it mapped
+        assertEquals("Kim", first.lookup("김"));
+        assertEquals("Gim", MappedDictionary.open(file).lookup("김"));
+
+        Path other = dir.resolve("other.dict");
+        Files.write(other, "not a dictionary".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> MappedDictionary.open(other));
+    }
+}
@@ -0,0 +1,142 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test cases for the streaming name extractors.
+ */
+public class NameExtractorTest {
+
+    private static List<String> describe(Stream<NameExtractor.KoreanName> names) {
+        try (names) {
+            return names.map(NameExtractor.KoreanName::toString).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testStreamJsonNames(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.json");
+        Files.writeString(file, "[{\"fullNameHangul\":\"김민준\",\"fullNameRomanized\":\"Kim Min Jun\"},"
+            + "{\"fullNameHangul\":\"이서연\"}, null, [1, 2], 3,"
+            + "{\"fullNameHangul\":\"박지우\",\"fullNameRomanized\":\"Park Ji Woo\",\"extra\":{\"a\":[1]}}]");
+        assertEquals(List.of("김민준 (Kim Min Jun) - names.json", "박지우 (Park Ji Woo) - names.json"),
+                     describe(NameExtractor.streamJsonNames(file)));
+    }
+
+    @Test
+    public void testStreamTextNames(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("given.txt");
+        Files.writeString(file, "Ga-young (가영), Ha-neul\n(하늘)\nnot a name (abc)\n");
+        assertEquals(List.of("가영 (Ga-young) - given.txt", "하늘 (Ha-neul) - given.txt"),
+                     describe(NameExtractor.streamTextGivenNames(file)));
+    }
+
+    @Test
+    public void testStreamHtmlNames(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("surnames.html");
+        Files.writeString(file, "<li><strong>Kim</strong> – Gold – 金</li>\n<li><strong>Unknown</strong> – x – 無</li>");
+        assertEquals(List.of("김 (Kim) - surnames.html"), describe(NameExtractor.streamHtmlSurnames(file)));
+    }
+
+    @Test
+    public void testMissingFile(@TempDir Path dir) {
+        assertThrows(UncheckedIOException.class, () -> NameExtractor.streamJsonNames(dir.resolve("missing.json")));
+    }
+
+    @Test
+    public void testMalformedJson(@TempDir Path dir) throws IOException {
+        Path fds = Paths.get("/proc/self/fd");
+        Map<String, String> files = Map.of("empty.json", "", "truncated.json", "[{\"fullNameHangul\":",
+                                           "malformed.json", "[}", "bad.json", "\u0000\u0000");
+        long before = countFiles(fds);
+        for (int i = 0; i < 50; i++) {
+            for (Map.Entry<String, String> entry : files.entrySet()) {
+                Path file = dir.resolve(entry.getKey());
+                Files.writeString(file, entry.getValue());
+                try {
+                    describe(NameExtractor.streamJsonNames(file));
+                } catch (UncheckedIOException e) {
+                    // Expected for files that fail to parse
+                }
+            }
+        }
+        assertThrows(UncheckedIOException.class, () -> NameExtractor.streamJsonNames(dir.resolve("bad.json")));
+        assumeTrue(before >= 0, "open files can only be counted on Linux");
+        // A file left open by each failed attempt would add 200 descriptors
+        assertTrue(countFiles(fds) - before < 20, "files left open");
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return -1;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testExtractionSkipsMissingSources(@TempDir Path dir) throws IOException {
+        // Only two of the six source files exist; each file is read on its own
+        Files.writeString(dir.resolve("List of Korean given names.txt"), "Ji-Woo (지우), Jimin (지민)\n");
+        Files.writeString(dir.resolve("name_examples.txt"), "Jimin (지민)\nHaeun (하은)\n");
+
+        Map<String, Integer> counts = new HashMap<>();
+        List<NameExtractor.KoreanName> names = NameExtractor.extractAllNames(dir, counts);
+        assertEquals(List.of("지우 (Ji-Woo) - List of Korean given names.txt", "지민 (Jimin) - List of Korean given names.txt",
+                             "하은 (Haeun) - name_examples.txt"),
+                     names.stream().map(NameExtractor.KoreanName::toString).collect(Collectors.toList()));
+        assertEquals(Map.of("List of Korean given names.txt", 2, "name_examples.txt", 2), counts);
+    }
+
+    @Test
+    public void testConcurrentExtractionMatchesSequentialRead(@TempDir Path dir) throws IOException {
+        // The same names appear in several sources, so first-source attribution matters
+        Files.writeString(dir.resolve("korean_names_1000.json"),
+            "[{\"fullNameHangul\":\"김민준\",\"fullNameRomanized\":\"Kim Min Jun\"},"
+            + "{\"fullNameHangul\":\"지우\",\"fullNameRomanized\":\"Ji-Woo\"},"
+            + "{\"fullNameHangul\":\"김민준\",\"fullNameRomanized\":\"Kim Min Jun\"}]");
+        Files.writeString(dir.resolve("examples_korean_last_names_300.html"),
+            "<strong>Kim</strong> – Gold – 金\n<strong>Lee</strong> – Plum – 李\n<strong>Kim</strong> – Gold – 金");
+        Files.writeString(dir.resolve("examples_korean_first_names_1000.html"),
+            "<strong>Ji-Woo</strong> – Wisdom – 智友\n<strong>Ha-Eun</strong> – Summer – 夏恩");
+        Files.writeString(dir.resolve("List of Korean surnames.txt"),
+            "김\t金\tGim\tKim\tGhim\n이\t李\tI\tLee\tYi\n");
+        Files.writeString(dir.resolve("List of Korean given names.txt"), "Ji-Woo (지우), Ha-eun (하은)\n");
+        Files.writeString(dir.resolve("name_examples.txt"), "Jimin (지민) – a singer\nHaeun (하은)\n");
+
+        Map<String, NameExtractor.KoreanName> sequential = new LinkedHashMap<>();
+        Map<String, Integer> sequentialCounts = new HashMap<>();
+        try (Stream<NameExtractor.KoreanName> names = NameExtractor.streamAllNames(dir)) {
+            names.forEach(name -> {
+                sequential.putIfAbsent(name.getHangul() + "\n" + name.getRomanized(), name);
+                sequentialCounts.merge(name.getSource(), 1, Integer::sum);
+            });
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        List<NameExtractor.KoreanName> names = NameExtractor.extractAllNames(dir, counts);
+        assertEquals(sequential.values().stream().map(NameExtractor.KoreanName::toString).collect(Collectors.toList()),
+                     names.stream().map(NameExtractor.KoreanName::toString).collect(Collectors.toList()));
+        assertEquals(sequentialCounts, counts);
+        assertEquals("korean_names_1000.json", names.get(1).getSource());
+    }
+}
@@ -0,0 +1,116 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for matching Latin spellings against the variant space of a Hangul name.
+ */
+public class NameVariantsTest {
+
+    @Test
+    public void testConventionalSurnameSpellings() {
+        NameVariants kim = NameVariants.of("김");
+        assertTrue(kim.matches("Kim"));
+        assertTrue(kim.matches("Gim"));
+        assertTrue(kim.matches("GHIM"));
+        assertFalse(kim.matches("Kimm"));
+
+        NameVariants lee = NameVariants.of("이");
+        assertTrue(lee.matches("Lee"));
+        assertTrue(lee.matches("Yi"));
+        assertTrue(lee.matches("Rhee"));
+        assertTrue(lee.matches("I"));
+        assertFalse(lee.matches("Le"));
+    }
+
+    @Test
+    public void testFullNameAcrossSyllables() {
+        NameVariants name = NameVariants.of("김민준");
+        assertTrue(name.matches("Kim Min Jun"));
+        assertTrue(name.matches("Gim Min-joon"));
+        assertTrue(name.matches("kimminjoon"));
+        assertFalse(name.matches("Kim Min"));
+        assertFalse(name.matches("Kim Min Jun Ho"));
+        assertFalse(name.matches("Kim Min Jun!"));
+    }
+
+    @Test
+    public void testJamoAlternatives() {
+        NameVariants name = NameVariants.of("정서연");
+        assertTrue(name.matches("Jeong Seo-yeon"));
+        assertTrue(name.matches("Chung Suh Yun"));
+        assertTrue(name.matches("Jung Seo Yeon"));
+    }
+
+    @Test
+    public void testExtraSurnameSpellings() {
+        NameVariants plain = NameVariants.of("가은");
+        assertFalse(plain.matches("Kha Eun"));
+
+        NameVariants extended = NameVariants.of("가은",
+            Collections.singletonMap("가", Arrays.asList("Ka", "Kah", "Kha", "Gha")));
+        assertTrue(extended.matches("Kha Eun"));
+        assertTrue(extended.matches("Ka Eun"));
+    }
+
+    @Test
+    public void testMcCuneReischauerBreves() {
+        NameVariants name = NameVariants.of("정서연",
+            Collections.singletonMap("정", Collections.singletonList("Chŏng")));
+        assertTrue(name.matches("Chŏng Sŏ-yŏn"));
+    }
+
+    @Test
+    public void testVariantCountIsProductOfSyllables() {
+        NameVariants name = NameVariants.of("김민준");
+        long expected = 1;
+        for (int i = 0; i < name.syllableCount(); i++) {
+            expected *= name.getSpellings(i).size();
+        }
+        assertEquals(expected, name.variantCount());
+        assertEquals(0, NameVariants.of("").variantCount());
+        assertFalse(NameVariants.of("").matches(""));
+    }
+
+    @Test
+    public void testSpellingsInDescendingLikelihood() {
+        NameVariants name = NameVariants.of("김민준");
+        List<String> top = name.spellingStream().limit(3).collect(Collectors.toList());
+        assertEquals("Kim Minjun", top.get(0));
+        assertEquals(3, top.size());
+        assertEquals(3, new HashSet<>(top).size());
+        for (String spelling : top) {
+            assertTrue(name.matches(spelling));
+        }
+
+        Iterator<String> hyphenated = name.spellings("-");
+        assertEquals("Kim Min-Jun", hyphenated.next());
+    }
+
+    @Test
+    public void testSpellingsEnumerateWholeSpace() {
+        NameVariants name = NameVariants.of("이준");
+        Iterator<String> it = name.spellings();
+        int count = 0;
+        while (it.hasNext()) {
+            assertTrue(name.matches(it.next()));
+            count++;
+        }
+        assertTrue(count > 0 && count <= name.variantCount());
+        assertThrows(NoSuchElementException.class, it::next);
+        assertFalse(NameVariants.of("").spellings().hasNext());
+    }
+}
@@ -0,0 +1,162 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the persistent romanization cache.
+ */
+public class PersistentCacheTest {
+
+    private static String name(int i) {
+        return new String(new char[] {(char) (0xAC00 + i * 7 % 11172), (char) (0xAC00 + i * 13 % 11172)});
+    }
+
+    @Test
+    public void testSurvivesReopen(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.cache");
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            assertEquals(KoreanRomanizer.romanizeFullName("김민준"), cache.romanize("김민준", RomanizationMethod.FULL_NAME));
+            assertEquals(KoreanRomanizer.romanize("김민준"), cache.romanize("김민준", RomanizationMethod.ROMANIZE));
+            assertEquals(2, cache.size());
+        }
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            assertEquals(2, cache.size());
+            assertEquals(KoreanRomanizer.romanizeFullName("김민준"), cache.get("김민준", RomanizationMethod.FULL_NAME));
+            assertNull(cache.get("김민준", RomanizationMethod.NAME));
+            cache.romanize("김민준", RomanizationMethod.FULL_NAME);
+            assertEquals(2, cache.size());
+        }
+        assertThrows(IOException.class, () -> {
+            PersistentCache cache = PersistentCache.open(file);
+            cache.close();
+            cache.get("김민준", RomanizationMethod.FULL_NAME);
+        });
+    }
+
+    @Test
+    public void testSingleOpen(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.cache");
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            IOException e = assertThrows(IOException.class, () -> PersistentCache.open(file));
+            assertTrue(e.getMessage().contains("already open"), e.getMessage());
+            cache.romanize("김민준", RomanizationMethod.FULL_NAME);
+        }
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            assertEquals(1, cache.size());
+        }
+    }
+
+    @Test
+    public void testConcurrentLookups(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("names.cache");
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    tasks.add(executor.submit(() -> {
+                        for (int i = 0; i < 2000; i++) {
+                            assertEquals(KoreanRomanizer.romanizeName(name(i)), cache.romanize(name(i), RomanizationMethod.NAME));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(2000, cache.size());
+        }
+    }
+
+    @Test
+    public void testGrowsIndex(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.cache");
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            for (int i = 0; i < 3000; i++) {
+                cache.romanize(name(i), RomanizationMethod.NAME);
+            }
+        }
+        // A lost index is rebuilt from the log
+        Files.delete(dir.resolve("names.cache.index"));
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            for (int i = 0; i < 3000; i++) {
+                assertEquals(KoreanRomanizer.romanizeName(name(i)), cache.get(name(i), RomanizationMethod.NAME));
+            }
+        }
+    }
+
+    @Test
+    public void testDropsTruncatedRecord(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.cache");
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            cache.romanize("이서연", RomanizationMethod.FULL_NAME);
+        }
+        long size = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 9, 2, 0}, StandardOpenOption.APPEND);
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            assertEquals(1, cache.size());
+            assertEquals(size, Files.size(file));
+            cache.romanize("박지훈", RomanizationMethod.FULL_NAME);
+        }
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            assertEquals(KoreanRomanizer.romanizeFullName("박지훈"), cache.get("박지훈", RomanizationMethod.FULL_NAME));
+        }
+    }
+
+    @Test
+    public void testInvalidatedByFingerprint(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("names.cache");
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            cache.put("김민준", RomanizationMethod.FULL_NAME, "stale");
+        }
+        // Results written by another engine version are discarded
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, 42), 8);
+        }
+        try (PersistentCache cache = PersistentCache.open(file)) {
+            assertEquals(0, cache.size());
+            assertNull(cache.get("김민준", RomanizationMethod.FULL_NAME));
+        }
+    }
+
+    @Test
+    public void testPipelineCache(@TempDir Path dir) throws IOException {
+        byte[] input = String.join("\n", List.of("id,name", "1,김민준", "2,이서연", "3,김민준", "")).getBytes(StandardCharsets.UTF_8);
+        RecordPipeline pipeline = new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        pipeline.run(new ByteArrayInputStream(input), expected);
+
+        for (int run = 0; run < 2; run++) {
+            try (PersistentCache cache = PersistentCache.open(dir.resolve("names.cache"))) {
+                ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                pipeline.cache(cache).run(new ByteArrayInputStream(input), actual);
+                assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+                assertEquals(2, cache.size());
+            }
+        }
+    }
+}
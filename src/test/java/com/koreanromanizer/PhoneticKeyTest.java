@@ -0,0 +1,71 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for phonetic name keys.
+ */
+public class PhoneticKeyTest {
+
+    private static void assertSameKey(String... spellings) {
+        long key = PhoneticKey.of(spellings[0]);
+        for (String spelling : spellings) {
+            assertEquals(PhoneticKey.toString(key), PhoneticKey.toString(PhoneticKey.of(spelling)), spelling);
+            assertEquals(key, PhoneticKey.of(spelling), spelling);
+        }
+    }
+
+    @Test
+    public void testSurnameVariants() {
+        assertSameKey("김", "Kim", "Gim", "KIM");
+        assertSameKey("이", "Lee", "Yi", "Rhee", "I", "리");
+        assertSameKey("박", "Park", "Pak", "Bak");
+        assertSameKey("최", "Choi", "Choe", "Chwe");
+        assertSameKey("정", "Jeong", "Jung", "Chung", "Chŏng");
+        assertSameKey("오", "Oh", "O");
+        assertSameKey("안", "Ahn", "An");
+        assertSameKey("임", "Lim", "Im", "Yim");
+        assertSameKey("류", "Ryu", "Yoo", "Yu");
+        assertSameKey("노", "Roh", "No", "로");
+        assertSameKey("배", "Bae", "Bai");
+        assertSameKey("서", "Seo", "Suh");
+    }
+
+    @Test
+    public void testFullNames() {
+        assertSameKey("김민준", "Kim Min-jun", "Gim Minjoon", "kim-min-jun");
+        assertSameKey("이서연", "Lee Seo-yeon", "Yi Suh-yun");
+        assertSameKey("최지우", "Choi Ji-woo", "Choe Jiwu");
+        assertSameKey("한은경", "Han Eunkyung", "Han Eun-gyeong");
+        assertEquals("KIMINJON", PhoneticKey.toString(PhoneticKey.of("김민준")));
+
+        assertNotEquals(PhoneticKey.of("김민준"), PhoneticKey.of("김민지"));
+        assertNotEquals(PhoneticKey.of("박"), PhoneticKey.of("백"));
+    }
+
+    @Test
+    public void testPacking() {
+        assertEquals(0, PhoneticKey.of(""));
+        assertEquals(0, PhoneticKey.of("- 123"));
+        assertEquals(3, PhoneticKey.length(PhoneticKey.of("Kim")));
+
+        // Keys keep 12 classes and count up to 15
+        long key = PhoneticKey.of("남궁 민준서연하은");
+        assertEquals(15, PhoneticKey.length(key));
+        assertEquals(PhoneticKey.MAX_SYMBOLS, PhoneticKey.toString(key).length());
+
+        long prefix = PhoneticKey.prefix(PhoneticKey.of("김민준"), 3);
+        assertEquals(PhoneticKey.of("Kim"), prefix);
+        assertEquals(prefix, PhoneticKey.prefix(PhoneticKey.of("Gim Min-ji"), 3));
+        assertEquals(0, PhoneticKey.prefix(key, 0));
+        assertThrows(IllegalArgumentException.class, () -> PhoneticKey.prefix(key, 13));
+
+        assertTrue(Long.compareUnsigned(PhoneticKey.of("Ki"), PhoneticKey.of("Kim")) < 0);
+        assertTrue(Long.compareUnsigned(PhoneticKey.of("Kim"), PhoneticKey.of("Pak")) < 0);
+    }
+}
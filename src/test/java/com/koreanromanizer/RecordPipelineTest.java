@@ -0,0 +1,165 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the CSV, TSV and JSON Lines record pipeline.
+ */
+public class RecordPipelineTest {
+
+    private static String run(RecordPipeline pipeline, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pipeline.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String fullName(String name) {
+        return KoreanRomanizer.romanizeFullName(name);
+    }
+
+    @Test
+    public void testCsvAppend() throws IOException {
+        String input = "id,name,note\r\n1,김민준,\"a, \"\"quoted\"\"\nnote\"\r\n2,\"이서연\",x\r\n";
+        String expected = "id,name,note,name_romanized\r\n"
+            + "1,김민준,\"a, \"\"quoted\"\"\nnote\"," + fullName("김민준") + "\r\n"
+            + "2,\"이서연\",x," + fullName("이서연") + "\r\n";
+        assertEquals(expected, run(new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME), input));
+    }
+
+    @Test
+    public void testCsvReplace() throws IOException {
+        String input = "name,city\n\"박지우\",\"서울\"\n최현우,부산";
+        String expected = "name,city\n" + fullName("박지우") + ",\"서울\"\n" + fullName("최현우") + ",부산";
+        RecordPipeline pipeline = new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME)
+            .replaceColumns();
+        assertEquals(expected, run(pipeline, input));
+    }
+
+    @Test
+    public void testTsv() throws IOException {
+        String input = "city\tname\n서울\t정하은\n";
+        String expected = "city\tname\tcity_en\n서울\t정하은\t" + KoreanRomanizer.romanize("서울") + "\n";
+        RecordPipeline pipeline = new RecordPipeline(RecordPipeline.Format.TSV, List.of("city"), RomanizationMethod.ROMANIZE)
+            .appendSuffix("_en");
+        assertEquals(expected, run(pipeline, input));
+    }
+
+    @Test
+    public void testJsonLines() throws IOException {
+        String input = "{\"id\":1,\"name\":\"김민준\"}\n\n{\"id\":2,\"name\":3}\n";
+        String expected = "{\"id\":1,\"name\":\"김민준\",\"name_romanized\":\"" + fullName("김민준") + "\"}\n\n"
+            + "{\"id\":2,\"name\":3,\"name_romanized\":null}\n";
+        assertEquals(expected, run(new RecordPipeline(RecordPipeline.Format.JSONL, List.of("name"), RomanizationMethod.FULL_NAME), input));
+    }
+
+    @Test
+    public void testJsonLinesKeepRecordText() throws IOException {
+        String record = "{ \"id\" : 1.10000000000000000001, \"note\":\"\\u00e9\\/\", \"name\" : \"김민준\" , \"tags\":[1, 2] }";
+        String appended = record.replace("[1, 2]", "[1, 2],\"name_romanized\":\"" + fullName("김민준") + "\"");
+        assertEquals(appended + "\n", run(new RecordPipeline(RecordPipeline.Format.JSONL, List.of("name"), RomanizationMethod.FULL_NAME), record + "\n"));
+
+        String replaced = record.replace("\"김민준\"", "\"" + fullName("김민준") + "\"");
+        RecordPipeline replace = new RecordPipeline(RecordPipeline.Format.JSONL, List.of("name"), RomanizationMethod.FULL_NAME)
+            .replaceColumns();
+        assertEquals(replaced + "\n", run(replace, record + "\n"));
+
+        // An existing output field is overwritten where it is, and an empty object gains the field
+        String existing = "{\"name_romanized\": 0, \"name\":\"김\"}\n{}\n[1]\n";
+        String expected = "{\"name_romanized\": \"" + fullName("김") + "\", \"name\":\"김\"}\n{\"name_romanized\":null}\n[1]\n";
+        assertEquals(expected, run(new RecordPipeline(RecordPipeline.Format.JSONL, List.of("name"), RomanizationMethod.FULL_NAME), existing));
+    }
+
+    @Test
+    public void testParallelChunksKeepOrder() throws IOException {
+        StringBuilder input = new StringBuilder("n,name\n");
+        StringBuilder expected = new StringBuilder("n,name,name_romanized\n");
+        for (int i = 0; i < 1000; i++) {
+            String name = "김" + (char) (0xAC00 + (i * 7919) % 11172);
+            input.append(i).append(',').append(name).append('\n');
+            expected.append(i).append(',').append(name).append(',').append(fullName(name)).append('\n');
+        }
+        RecordPipeline pipeline = new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME)
+            .threads(4)
+            .chunkSize(7);
+        assertEquals(expected.toString(), run(pipeline, input.toString()));
+    }
+
+    @Test
+    public void testErrors() {
+        RecordPipeline csv = new RecordPipeline(RecordPipeline.Format.CSV, List.of("missing"), RomanizationMethod.ROMANIZE);
+        assertThrows(IllegalArgumentException.class, () -> run(csv, "name\n김\n"));
+        RecordPipeline json = new RecordPipeline(RecordPipeline.Format.JSONL, List.of("name"), RomanizationMethod.ROMANIZE);
+        assertThrows(IOException.class, () -> run(json, "{\"name\":\"김\"}\n{broken\n"));
+    }
+
+    @Test
+    public void testCheckpointedFileRun(@TempDir Path dir) throws IOException {
+        StringBuilder input = new StringBuilder("id,name\n");
+        for (int i = 0; i < 500; i++) {
+            input.append(i).append(',').append(i % 2 == 0 ? "김민준" : "이서연").append('\n');
+        }
+        Path in = dir.resolve("in.csv");
+        Path out = dir.resolve("out.csv");
+        Files.write(in, input.toString().getBytes(StandardCharsets.UTF_8));
+        RecordPipeline pipeline = new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME)
+            .chunkSize(16).checkpointEvery(50);
+
+        assertEquals(500, pipeline.run(in, out));
+        assertEquals(run(pipeline, input.toString()), Files.readString(out));
+        assertFalse(Files.exists(dir.resolve("out.csv.checkpoint")));
+    }
+
+    @Test
+    public void testCheckpointResume(@TempDir Path dir) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            lines.add("{\"id\":" + i + ",\"name\":\"" + (i % 3 == 0 ? "박지우" : "최현우") + "\"}");
+        }
+        String good = String.join("\n", lines) + "\n";
+        // Record 250 is cut short, which stops the first run
+        String bad = good.replace("{\"id\":249,", "{\"id\":249]");
+        Path in = dir.resolve("in.jsonl");
+        Path out = dir.resolve("out.jsonl");
+        Path checkpoint = dir.resolve("out.jsonl.checkpoint");
+        Files.write(in, bad.getBytes(StandardCharsets.UTF_8));
+        FileTime modified = Files.getLastModifiedTime(in);
+        RecordPipeline pipeline = new RecordPipeline(RecordPipeline.Format.JSONL, List.of("name"), RomanizationMethod.FULL_NAME)
+            .threads(2).chunkSize(10).checkpointEvery(30);
+
+        assertThrows(IOException.class, () -> pipeline.run(in, out));
+        Properties saved = new Properties();
+        try (InputStream stream = Files.newInputStream(checkpoint)) {
+            saved.load(stream);
+        }
+        long records = Long.parseLong(saved.getProperty("records"));
+        assertTrue(records >= 30 && records < 250, "records " + records);
+
+        // Repair the record in place, as if the input had never been broken
+        Files.write(in, good.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(in, modified);
+        Files.write(out, "garbage past the checkpoint".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(300, pipeline.run(in, out));
+        assertEquals(run(pipeline, good), Files.readString(out));
+        assertFalse(Files.exists(checkpoint));
+    }
+}
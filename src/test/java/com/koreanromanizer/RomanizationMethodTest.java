@@ -0,0 +1,62 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the romanization method entry points.
+ */
+public class RomanizationMethodTest {
+
+    @Test
+    public void testMethodNames() {
+        assertEquals(RomanizationMethod.FULL_NAME, RomanizationMethod.forName("romanizeFullName"));
+        assertEquals("romanize", RomanizationMethod.ROMANIZE.getMethodName());
+        assertEquals(KoreanRomanizer.romanizeName("민준"), RomanizationMethod.NAME.apply("민준"));
+        assertThrows(IllegalArgumentException.class, () -> RomanizationMethod.forName("transliterate"));
+    }
+
+    @Test
+    public void testRomanizeAllSharesDuplicates() {
+        String[] distinct = {"김민준", "이서연", "박지우", "최현우", "정하은", "강도윤", "조서윤"};
+        List<String> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // Copies rather than the same instances, as rows read from a file would be
+            batch.add(new String(distinct[i * i % distinct.length]));
+        }
+        batch.set(7, null);
+
+        RomanizedBatch result = RomanizationMethod.FULL_NAME.romanizeAll(batch);
+        assertEquals(1000, result.size());
+        assertEquals(1, result.getNulls());
+        Set<String> expected = new HashSet<>(batch);
+        expected.remove(null);
+        assertEquals(expected.size(), result.getDistinct());
+        assertEquals(1 - result.getDistinct() / 999.0, result.getDuplicateRatio(), 1e-9);
+        assertNull(result.get(7));
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) != null) {
+                assertEquals(KoreanRomanizer.romanizeFullName(batch.get(i)), result.get(i));
+                assertSame(result.get(batch.indexOf(batch.get(i))), result.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testRomanizeAllNullsAreNotDuplicates() {
+        assertEquals(0.0, RomanizationMethod.NAME.romanizeAll(List.of()).getDuplicateRatio());
+        RomanizedBatch nulls = RomanizationMethod.NAME.romanizeAll(Arrays.asList(null, "민준", null));
+        assertEquals(0.0, nulls.getDuplicateRatio());
+        assertEquals("3 rows, 1 distinct (0.0% duplicates)", nulls.toString());
+    }
+}
@@ -0,0 +1,123 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for the pluggable romanization schemes.
+ */
+public class RomanizationSchemeTest {
+
+    private String mr(String text) {
+        return KoreanRomanizer.romanize(text, StandardScheme.MCCUNE_REISCHAUER);
+    }
+
+    private String yale(String text) {
+        return KoreanRomanizer.romanize(text, StandardScheme.YALE);
+    }
+
+    @Test
+    public void testDefaultSchemeIsRevisedRomanization() {
+        assertEquals(KoreanRomanizer.romanize("안녕하세요"),
+            KoreanRomanizer.romanize("안녕하세요", StandardScheme.REVISED_ROMANIZATION));
+        assertEquals(KoreanRomanizer.romanize("김"),
+            KoreanRomanizer.romanize("김", StandardScheme.REVISED_ROMANIZATION));
+    }
+
+    @Test
+    public void testMcCuneReischauerVoicing() {
+        assertEquals("pusan", mr("부산"));
+        assertEquals("hangugŏ", mr("한국어"));
+        assertEquals("kimch'i", mr("김치"));
+    }
+
+    @Test
+    public void testMcCuneReischauerAssimilation() {
+        assertEquals("chongno", mr("종로"));
+        assertEquals("shilla", mr("신라"));
+        assertEquals("kungmul", mr("국물"));
+        assertEquals("tongnimmun", mr("독립문"));
+    }
+
+    @Test
+    public void testMcCuneReischauerSh() {
+        assertEquals("shi", mr("시"));
+        assertEquals("shwi", mr("쉬"));
+        assertEquals("sŏul", mr("서울"));
+    }
+
+    @Test
+    public void testMcCuneReischauerIgnoresNameDictionaries() {
+        assertEquals("Kim", new KoreanRomanizer("김", StandardScheme.MCCUNE_REISCHAUER).romanize(false, true));
+    }
+
+    @Test
+    public void testYaleTransliteratesWrittenForm() {
+        assertEquals("hankul", yale("한글"));
+        assertEquals("kwukmul", yale("국물"));
+        assertEquals("anca", yale("앉아"));
+        assertEquals("yunmk", yale("ㅠㄴㅁㄱ"));
+    }
+
+    @Test
+    public void testYaleLabialU() {
+        assertEquals("pusan", yale("부산"));
+        assertEquals("mun", yale("문"));
+        assertEquals("phul", yale("풀"));
+        assertEquals("kwuk", yale("국"));
+        assertEquals("mwel", yale("뭘"));
+    }
+
+    @Test
+    public void testNonKoreanPassesThrough() {
+        assertEquals("hankul 2024!", yale("한글 2024!"));
+    }
+
+    @Test
+    public void testCompiledFragmentsMatchScheme() {
+        // Syllables between every kind of neighbour, against the scheme's own rules
+        Random random = new Random(42);
+        for (StandardScheme scheme : StandardScheme.values()) {
+            CompiledScheme compiled = CompiledScheme.of(scheme);
+            for (int n = 0; n < 20000; n++) {
+                StringBuilder text = new StringBuilder();
+                for (int i = random.nextInt(6); i >= 0; i--) {
+                    text.append(random.nextInt(8) == 0 ? ' ' : (char) (0xAC00 + random.nextInt(11172)));
+                }
+                boolean addSpaces = random.nextBoolean();
+                StringBuilder actual = new StringBuilder();
+                compiled.romanize(text, addSpaces, actual);
+                assertEquals(reference(scheme, text, addSpaces), actual.toString(), scheme + " " + text);
+            }
+        }
+    }
+
+    private static String reference(RomanizationScheme scheme, CharSequence text, boolean addSpaces) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Syllable.isHangul(c)) {
+                out.append(c);
+                continue;
+            }
+            int previous = i == 0 ? RomanizationScheme.TEXT_START
+                : Syllable.isHangul(text.charAt(i - 1)) ? Syllable.finalIndex(text.charAt(i - 1))
+                : RomanizationScheme.AFTER_NON_SYLLABLE;
+            boolean beforeSyllable = i + 1 < text.length() && Syllable.isHangul(text.charAt(i + 1));
+            int nextInitial = beforeSyllable ? Syllable.initialIndex(text.charAt(i + 1)) : RomanizationScheme.NO_SYLLABLE;
+            int nextMedial = beforeSyllable ? Syllable.medialIndex(text.charAt(i + 1)) : RomanizationScheme.NO_SYLLABLE;
+            int initial = Syllable.initialIndex(c);
+            int medial = Syllable.medialIndex(c);
+            out.append(scheme.initial(initial, medial, previous, beforeSyllable))
+               .append(scheme.medial(medial, initial, nextMedial))
+               .append(scheme.finalConsonant(Syllable.finalIndex(c), nextInitial));
+            if (addSpaces && i < text.length() - 1) {
+                out.append(' ');
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for incremental romanization of edited text.
+ */
+public class RomanizationSessionTest {
+
+    @Test
+    public void testInitialText() {
+        RomanizationSession session = new RomanizationSession("안녕하세요");
+        assertEquals("annyeonghaseyo", session.getRomanized());
+        assertEquals("an", session.getSegment(0));
+    }
+
+    @Test
+    public void testEditsAcrossSoundChanges() {
+        RomanizationSession session = new RomanizationSession("국");
+        session.insert(1, "물");
+        assertEquals(KoreanRomanizer.romanize("국물"), session.getRomanized());
+        session.delete(1, 2);
+        session.insert(1, "어");
+        assertEquals(KoreanRomanizer.romanize("국어"), session.getRomanized());
+        session.replace(0, 1, "한국");
+        assertEquals("한국어", session.getText());
+        assertEquals(KoreanRomanizer.romanize("한국어"), session.getRomanized());
+    }
+
+    @Test
+    public void testDictionaryOverride() {
+        RomanizationSession session = new RomanizationSession("김");
+        assertEquals(KoreanRomanizer.romanize("김"), session.getRomanized());
+        session.insert(1, "치");
+        assertEquals(KoreanRomanizer.romanize("김치"), session.getRomanized());
+        session.delete(1, 2);
+        assertEquals(KoreanRomanizer.romanize("김"), session.getRomanized());
+    }
+
+    @Test
+    public void testDecomposedInsert() {
+        RomanizationSession session = new RomanizationSession("한");
+        session.insert(1, "구");
+        session.insert(2, "ᆨ");
+        assertEquals(Syllable.normalize("한국"), session.getText());
+        assertEquals(KoreanRomanizer.romanize(session.getText()), session.getRomanized());
+    }
+
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(7);
+        String alphabet = "김이박국물한어닭값않좋아요 .ㄱㅠa신라";
+        for (RomanizationScheme scheme : StandardScheme.values()) {
+            RomanizationSession session = new RomanizationSession("", scheme);
+            StringBuilder expected = new StringBuilder();
+            for (int edit = 0; edit < 2000; edit++) {
+                int start = random.nextInt(expected.length() + 1);
+                int end = Math.min(expected.length(), start + random.nextInt(3));
+                StringBuilder inserted = new StringBuilder();
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    if (random.nextBoolean()) {
+                        inserted.append((char) (0xAC00 + random.nextInt(11172)));
+                    } else {
+                        inserted.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                    }
+                }
+                expected.replace(start, end, inserted.toString());
+                session.replace(start, end, inserted.toString());
+                if (expected.length() > 40) {
+                    session.delete(0, 20);
+                    expected.delete(0, 20);
+                }
+                assertEquals(KoreanRomanizer.romanize(expected.toString(), scheme), session.getRomanized(),
+                             expected.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testRandomJamoEdits() {
+        Random random = new Random(13);
+        String alphabet = "\u1100\u110B\u1112\u1161\u1175\u116E\u11A8\u11AB\u11AF\uFFA1\uFFC2가나한 .";
+        RomanizationSession session = new RomanizationSession("");
+        for (int edit = 0; edit < 3000; edit++) {
+            String before = session.getText();
+            int start = random.nextInt(before.length() + 1);
+            int end = Math.min(before.length(), start + random.nextInt(3));
+            StringBuilder inserted = new StringBuilder();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                inserted.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String expected = Syllable.normalize(new StringBuilder(before).replace(start, end, inserted.toString()).toString());
+            session.replace(start, end, inserted.toString());
+            if (session.getText().length() > 40) {
+                session.delete(0, 20);
+                expected = expected.substring(20);
+            }
+            assertEquals(expected, session.getText(), before);
+            assertEquals(KoreanRomanizer.romanize(expected), session.getRomanized(), expected);
+        }
+    }
+
+    @Test
+    public void testLongDocument() {
+        Random random = new Random(5);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            expected.append(i % 7 == 6 ? ' ' : (char) (0xAC00 + random.nextInt(11172)));
+        }
+        RomanizationSession session = new RomanizationSession(expected.toString());
+        for (int edit = 0; edit < 500; edit++) {
+            int start = random.nextInt(expected.length() + 1);
+            int end = Math.min(expected.length(), start + random.nextInt(5));
+            String inserted = random.nextInt(3) == 0 ? "" : "국물 " + (char) (0xAC00 + random.nextInt(11172));
+            expected.replace(start, end, inserted);
+            session.replace(start, end, inserted);
+        }
+        assertEquals(expected.toString(), session.getText());
+        String romanized = KoreanRomanizer.romanize(expected.toString());
+        assertEquals(romanized, session.getRomanized());
+
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(joined.length(), session.getSegmentOffset(i));
+            joined.append(session.getSegment(i));
+        }
+        assertEquals(romanized.length(), session.getSegmentOffset(expected.length()));
+    }
+
+    @Test
+    public void testInvalidRange() {
+        RomanizationSession session = new RomanizationSession("한국");
+        assertThrows(IndexOutOfBoundsException.class, () -> session.delete(1, 3));
+    }
+}
@@ -1,7 +1,12 @@
 package com.koreanromanizer;
 
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test cases for the Korean Romanizer library.
@@ -96,4 +101,75 @@ public class RomanizerTest {
         assertEquals("ansseupnita", romanize("않습니다"));
         assertEquals("alko", romanize("앓고"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testDecomposedInput() {
+        String nfd = java.text.Normalizer.normalize("안녕하세요", java.text.Normalizer.Form.NFD);
+        assertEquals("annyeonghaseyo", romanize(nfd));
+        assertEquals("annyeonghaseyo", romanize("안녕\u1112\u1161세요"));
+        assertEquals(KoreanRomanizer.romanizeFullName("김민준"), KoreanRomanizer.romanizeFullName(
+            java.text.Normalizer.normalize("김민준", java.text.Normalizer.Form.NFD)));
+    }
+
+    @Test
+    public void testHalfwidthInput() {
+        // Halfwidth ㅎㅏㄴㄱㅜㄱ = 한국
+        assertEquals(romanize("한국"), romanize("\uFFBE\uFFC2\uFFA4\uFFA1\uFFD3\uFFA1"));
+        assertEquals("yu", romanize("\uFFD7"));
+        assertEquals("yunmg", romanize("ㅠㄴㅁㄱ"));
+    }
+
+    @Test
+    public void testDictionaryHitsShareInstances() {
+        assertSame(KoreanRomanizer.romanizeName("김"), KoreanRomanizer.romanizeName("김"));
+        assertSame(KoreanRomanizer.romanizeFullName("박"), KoreanRomanizer.romanizeName("박"));
+        assertSame(romanize("이"), romanize("이"));
+    }
+
+    @Test
+    public void testCanonicalPool() {
+        CanonicalPool pool = new CanonicalPool(64, 16);
+        String first = RomanizationMethod.FULL_NAME.apply("김민준", pool);
+        assertEquals(KoreanRomanizer.romanizeFullName("김민준"), first);
+        assertSame(first, RomanizationMethod.FULL_NAME.apply("김민준", pool));
+
+        // Results longer than the maximum length are not pooled
+        String text = "안녕하세요 반갑습니다";
+        String romanized = RomanizationMethod.ROMANIZE.apply(text, pool);
+        assertEquals(romanize(text), romanized);
+        assertNotSame(romanized, RomanizationMethod.ROMANIZE.apply(text, pool));
+        assertNull(pool.canonicalize(null));
+    }
+
+    @Test
+    public void testOffsetAlignment() {
+        // 국 reads as 구 before the linked 어, so its span is "gu", not its romanization on its own
+        int[] starts = new int[3];
+        int[] ends = new int[3];
+        String romanized = RomanizationMethod.ROMANIZE.apply("한국어", starts, ends);
+        assertEquals(romanize("한국어"), romanized);
+        assertArrayEquals(new int[] {0, 3, 5}, starts);
+        assertArrayEquals(new int[] {3, 5, romanized.length()}, ends);
+
+        // Spaces added after syllables fall between spans; the space of the text is its own span
+        starts = new int[4];
+        ends = new int[4];
+        romanized = RomanizationMethod.NAME.apply("같이 밥", starts, ends);
+        assertEquals(KoreanRomanizer.romanizeName("같이 밥"), romanized);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(' ', romanized.charAt(ends[i]));
+        }
+        assertEquals(" ", romanized.substring(starts[2], ends[2]));
+        assertEquals(romanized.length(), ends[3]);
+
+        // The surname and a dictionary given name: both given name syllables span the whole given name
+        starts = new int[3];
+        ends = new int[3];
+        romanized = RomanizationMethod.FULL_NAME.apply("김도윤", starts, ends);
+        assertEquals("Gim Do-Yun", romanized);
+        assertArrayEquals(new int[] {0, 4, 4}, starts);
+        assertArrayEquals(new int[] {3, 10, 10}, ends);
+
+        assertThrows(IllegalArgumentException.class, () -> RomanizationMethod.ROMANIZE.apply("한국어", new int[2], new int[3]));
+    }
+}
@@ -0,0 +1,223 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the micro-batching romanization processor.
+ */
+public class RomanizingProcessorTest {
+
+    /**
+     * Publishes a list, honouring demand, and records the largest outstanding demand.
+     */
+    private static final class ListPublisher<T> implements Flow.Publisher<T> {
+        private final List<T> items;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger draining = new AtomicInteger();
+        private final AtomicLong maxOutstanding = new AtomicLong();
+        private int index;
+        private boolean done;
+
+        ListPublisher(List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    maxOutstanding.accumulateAndGet(requested.addAndGet(n), Math::max);
+                    drain(subscriber);
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+
+        private void drain(Flow.Subscriber<? super T> subscriber) {
+            if (draining.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (requested.get() > 0 && index < items.size()) {
+                    requested.decrementAndGet();
+                    subscriber.onNext(items.get(index++));
+                }
+                if (index == items.size() && !done) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            } while (draining.decrementAndGet() != 0);
+        }
+    }
+
+    /**
+     * Collects results, requesting one at a time with an optional delay.
+     */
+    private static final class SlowSubscriber<T> implements Flow.Subscriber<T> {
+        private final List<T> results = new ArrayList<>();
+        private final CompletableFuture<List<T>> done = new CompletableFuture<>();
+        private final long delayMillis;
+        private Flow.Subscription subscription;
+
+        SlowSubscriber(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            results.add(item);
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(results);
+        }
+    }
+
+    /**
+     * Collects results, requesting each next item from another thread, as a sink handing
+     * results to its own writer would.
+     */
+    private static final class HandOffSubscriber<T> implements Flow.Subscriber<T> {
+        private final List<T> results = new ArrayList<>();
+        private final CompletableFuture<List<T>> done = new CompletableFuture<>();
+        private final ExecutorService writer = Executors.newSingleThreadExecutor();
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            results.add(item);
+            writer.execute(() -> subscription.request(1));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            writer.shutdown();
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            writer.shutdown();
+            done.complete(results);
+        }
+    }
+
+    private static List<String> texts(int count) {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            texts.add(String.valueOf((char) (0xAC00 + (i * 7919) % 11172)) + (char) (0xAC00 + (i * 104729) % 11172));
+        }
+        return texts;
+    }
+
+    @Test
+    public void testRomanizesInOrder() throws Exception {
+        List<String> texts = texts(2000);
+        RomanizingProcessor<String, String> processor = RomanizingProcessor.create(RomanizationMethod.FULL_NAME, 32);
+        SlowSubscriber<String> sink = new SlowSubscriber<>(0);
+        processor.subscribe(sink);
+        new ListPublisher<>(texts).subscribe(processor);
+
+        List<String> results = sink.done.get(30, TimeUnit.SECONDS);
+        assertEquals(texts.size(), results.size());
+        for (int i = 0; i < texts.size(); i++) {
+            assertEquals(KoreanRomanizer.romanizeFullName(texts.get(i)), results.get(i));
+        }
+    }
+
+    @Test
+    public void testSlowSinkBoundsDemand() throws Exception {
+        List<String> texts = texts(300);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            RomanizingProcessor<String, String> processor =
+                RomanizingProcessor.create(RomanizationMethod.ROMANIZE, executor, 8);
+            SlowSubscriber<String> sink = new SlowSubscriber<>(1);
+            processor.subscribe(sink);
+            ListPublisher<String> source = new ListPublisher<>(texts);
+            source.subscribe(processor);
+
+            assertEquals(300, sink.done.get(30, TimeUnit.SECONDS).size());
+            assertTrue(source.maxOutstanding.get() <= 8, "outstanding demand " + source.maxOutstanding.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSingleThreadExecutor() throws Exception {
+        // Batches wait for a full subscriber buffer while the only thread is busy with them
+        List<String> texts = texts(200);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RomanizingProcessor<String, String> processor =
+                RomanizingProcessor.create(RomanizationMethod.ROMANIZE, executor, 2);
+            HandOffSubscriber<String> sink = new HandOffSubscriber<>();
+            processor.subscribe(sink);
+            new ListPublisher<>(texts).subscribe(processor);
+
+            assertEquals(200, sink.done.get(30, TimeUnit.SECONDS).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testKeyedRecords() throws Exception {
+        List<Map.Entry<Integer, String>> records = List.of(Map.entry(7, "김민준"), Map.entry(3, "이서연"));
+        RomanizingProcessor<Map.Entry<Integer, String>, Map.Entry<Integer, String>> processor =
+            RomanizingProcessor.keyed(RomanizationMethod.FULL_NAME, ForkJoinPool.commonPool(), 4);
+        SlowSubscriber<Map.Entry<Integer, String>> sink = new SlowSubscriber<>(0);
+        processor.subscribe(sink);
+        new ListPublisher<>(records).subscribe(processor);
+
+        List<Map.Entry<Integer, String>> results = sink.done.get(30, TimeUnit.SECONDS);
+        assertEquals(Map.entry(7, KoreanRomanizer.romanizeFullName("김민준")), results.get(0));
+        assertEquals(Map.entry(3, KoreanRomanizer.romanizeFullName("이서연")), results.get(1));
+    }
+}
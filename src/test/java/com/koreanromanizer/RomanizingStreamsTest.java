@@ -0,0 +1,87 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the romanizing stream collector and spliterator.
+ */
+public class RomanizingStreamsTest {
+
+    private static List<String> names(int count) {
+        Random random = new Random(3);
+        String surnames = "김이박최정강조윤장임";
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder().append(surnames.charAt(random.nextInt(surnames.length())));
+            for (int j = 1 + random.nextInt(2); j > 0; j--) {
+                sb.append((char) (0xAC00 + random.nextInt(11172)));
+            }
+            names.add(sb.toString());
+        }
+        return names;
+    }
+
+    @Test
+    public void testCollectorKeepsOrder() {
+        List<String> names = names(5000);
+        String[] expected = names.stream().map(KoreanRomanizer::romanizeFullName).toArray(String[]::new);
+        assertArrayEquals(expected, names.stream()
+            .collect(RomanizingStreams.toRomanizedArray(RomanizationMethod.FULL_NAME, names.size())));
+        assertArrayEquals(expected, names.parallelStream()
+            .collect(RomanizingStreams.toRomanizedArray(RomanizationMethod.FULL_NAME)));
+    }
+
+    @Test
+    public void testSpliteratorOnSizedSource() {
+        List<String> names = names(5000);
+        List<String> expected = names.stream().map(KoreanRomanizer::romanize).collect(Collectors.toList());
+        assertEquals(expected, RomanizingStreams.romanize(names.parallelStream(), RomanizationMethod.ROMANIZE, 64)
+            .collect(Collectors.toList()));
+        Spliterator<String> spliterator = RomanizingStreams.romanizing(names.spliterator(), RomanizationMethod.ROMANIZE, 64);
+        assertEquals(5000, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testSpliteratorOnUnsizedSource() {
+        List<String> names = names(3000);
+        List<String> expected = names.stream().map(KoreanRomanizer::romanizeName).collect(Collectors.toList());
+        Spliterator<String> unsized = Spliterators.spliteratorUnknownSize(names.iterator(), Spliterator.ORDERED);
+        Stream<String> stream = StreamSupport.stream(unsized, true);
+        assertEquals(expected, RomanizingStreams.romanize(stream, RomanizationMethod.NAME, 100)
+            .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testMatchesStringRomanization() {
+        // Dictionary names, decomposed jamo and mixed text go through the same buffers in turn
+        List<String> texts = new ArrayList<>(names(500));
+        texts.addAll(List.of("김", "민준", "\u1112\u1161\u11AB\u1100\u1173\u11AF", "ﾾﾡ", "서울 2024!", "", "ㅎ"));
+        for (RomanizationMethod method : RomanizationMethod.values()) {
+            List<String> expected = texts.stream().map(method::apply).collect(Collectors.toList());
+            assertEquals(expected, RomanizingStreams.romanize(texts.stream(), method, 16).collect(Collectors.toList()));
+            assertArrayEquals(expected.toArray(new String[0]),
+                              texts.stream().collect(RomanizingStreams.toRomanizedArray(method)));
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> RomanizingStreams.romanizing(List.of("가").spliterator(), RomanizationMethod.ROMANIZE, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> RomanizingStreams.toRomanizedArray(RomanizationMethod.ROMANIZE, -1));
+    }
+}
@@ -0,0 +1,84 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Test cases for the multi-process shard coordinator.
+ */
+public class ShardCoordinatorTest {
+
+    private static final String[] NAMES = {"김민준", "이서연", "박지우", "최현우", "정하은"};
+
+    private static Path csv(Path dir) throws IOException {
+        StringBuilder input = new StringBuilder("id,note,name\n");
+        for (int i = 0; i < 2000; i++) {
+            // Quoted notes contain newlines that must not be taken for record boundaries
+            input.append(i).append(",\"line\none, ").append(i).append("\",").append(NAMES[i % NAMES.length]).append('\n');
+        }
+        Path file = dir.resolve("in.csv");
+        Files.write(file, input.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static RecordPipeline pipeline() {
+        return new RecordPipeline(RecordPipeline.Format.CSV, List.of("name"), RomanizationMethod.FULL_NAME).threads(2);
+    }
+
+    @Test
+    public void testShardsConcatenateToWholeRun(@TempDir Path dir) throws IOException {
+        Path input = csv(dir);
+        Path expected = dir.resolve("expected.csv");
+        pipeline().run(input, expected);
+
+        Path output = dir.resolve("out.csv");
+        List<ShardCoordinator.Shard> shards = new ShardCoordinator(pipeline(), 7).plan(input, output);
+        assertEquals(7, shards.size());
+        byte[] bytes = Files.readAllBytes(input);
+        long start = 0;
+        for (ShardCoordinator.Shard shard : shards) {
+            assertEquals(start, shard.getStart());
+            assertEquals('\n', bytes[(int) shard.getEnd() - 1]);
+            pipeline().run(input, shard.getStart(), shard.getEnd(), shard.getOutput());
+            start = shard.getEnd();
+        }
+        assertEquals(bytes.length, start);
+
+        ShardCoordinator.concatenate(shards, output);
+        assertEquals(Files.readString(expected), Files.readString(output));
+    }
+
+    @Test
+    public void testSmallInputHasFewerShards(@TempDir Path dir) throws IOException {
+        Path input = dir.resolve("in.jsonl");
+        Files.write(input, "{\"name\":\"김민준\"}\n{\"name\":\"이서연\"}".getBytes(StandardCharsets.UTF_8));
+        List<ShardCoordinator.Shard> shards = new ShardCoordinator(
+            new RecordPipeline(RecordPipeline.Format.JSONL, List.of("name"), RomanizationMethod.NAME), 8)
+            .plan(input, dir.resolve("out.jsonl"));
+        assertEquals(2, shards.size());
+        assertEquals(0, shards.get(0).getStart());
+        assertEquals(shards.get(0).getEnd(), shards.get(1).getStart());
+        assertEquals(Files.size(input), shards.get(1).getEnd());
+    }
+
+    @Test
+    public void testWorkerProcesses(@TempDir Path dir) throws IOException {
+        Path input = csv(dir);
+        Path expected = dir.resolve("expected.csv");
+        pipeline().run(input, expected);
+
+        Path output = dir.resolve("out.csv");
+        new ShardCoordinator(pipeline(), 3).javaOption("-Xmx64m").run(input, output);
+        assertEquals(Files.readString(expected), Files.readString(output));
+        assertFalse(Files.exists(dir.resolve("out.csv.shard-0")));
+    }
+}
@@ -0,0 +1,132 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for syllable decomposition and composition.
+ */
+public class SyllableTest {
+
+    @Test
+    public void testBulkDecompose() {
+        String text = "각a힣 가";
+        int[] initials = new int[text.length()];
+        int[] medials = new int[text.length()];
+        int[] finals = new int[text.length()];
+
+        assertEquals(3, Syllable.decompose(text, initials, medials, finals));
+        assertEquals(0, initials[0]);
+        assertEquals(0, medials[0]);
+        assertEquals(1, finals[0]);
+        assertEquals(Syllable.NOT_HANGUL, initials[1]);
+        assertEquals(Syllable.NOT_HANGUL, medials[1]);
+        assertEquals(Syllable.NOT_HANGUL, finals[1]);
+        assertEquals(18, initials[2]);
+        assertEquals(20, medials[2]);
+        assertEquals(27, finals[2]);
+        assertEquals(Syllable.NOT_HANGUL, finals[3]);
+        assertEquals(0, finals[4]);
+    }
+
+    @Test
+    public void testBulkDecomposeMatchesSyllable() {
+        char[] all = new char[11172 + 2];
+        for (int i = 0; i < 11172; i++) {
+            all[i + 1] = (char) (0xAC00 + i);
+        }
+        all[0] = 0xABFF;
+        all[all.length - 1] = 0xD7A4;
+        int[] initials = new int[all.length + 3];
+        int[] medials = new int[all.length + 3];
+        int[] finals = new int[all.length + 3];
+        int[] packed = new int[all.length];
+
+        assertEquals(11172, Syllable.decompose(all, 0, all.length, initials, medials, finals, 3));
+        assertEquals(11172, Syllable.decomposePacked(all, 0, all.length, packed, 0));
+        for (int i = 0; i < all.length; i++) {
+            boolean hangul = i > 0 && i < all.length - 1;
+            assertEquals(hangul, Syllable.isPackedHangul(packed[i]));
+            assertEquals(all[i], Syllable.packedCharacter(packed[i]));
+            assertEquals(initials[i + 3], Syllable.packedInitial(packed[i]));
+            assertEquals(medials[i + 3], Syllable.packedMedial(packed[i]));
+            assertEquals(finals[i + 3], Syllable.packedFinal(packed[i]));
+            if (hangul) {
+                Syllable syllable = new Syllable(all[i]);
+                assertEquals(syllable.getInitial(), Syllable.initialJamo(initials[i + 3]));
+                assertEquals(syllable.getMedial(), Syllable.medialJamo(medials[i + 3]));
+                assertEquals(syllable.getFinal(), Syllable.finalJamo(finals[i + 3]));
+            }
+        }
+    }
+
+    @Test
+    public void testPackedNonHangul() {
+        int[] packed = new int[3];
+        assertEquals(0, Syllable.decomposePacked("a\uFFFF\u0000", packed));
+        for (int p : packed) {
+            assertFalse(Syllable.isPackedHangul(p));
+        }
+        assertEquals('\uFFFF', Syllable.packedCharacter(packed[1]));
+        assertEquals('\u0000', Syllable.packedCharacter(packed[2]));
+        assertEquals(1, Syllable.decomposePacked("가", packed));
+        assertTrue(Syllable.isPackedHangul(packed[0]));
+    }
+
+    @Test
+    public void testComposeConjoiningRoundTrip() {
+        char[] all = new char[11172];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = (char) (0xAC00 + i);
+        }
+        String original = new String(all);
+        String nfd = java.text.Normalizer.normalize(original, java.text.Normalizer.Form.NFD);
+        assertEquals(original, Syllable.compose(nfd));
+    }
+
+    @Test
+    public void testComposeCompatibilityJamo() {
+        assertEquals("한국어", Syllable.compose("ㅎㅏㄴㄱㅜㄱㅇㅓ"));
+        assertEquals("닭이", Syllable.compose("ㄷㅏㄹㄱㅇㅣ"));
+        assertEquals("달기", Syllable.compose("ㄷㅏㄹㄱㅣ"));
+        assertEquals("과외", Syllable.compose("ㄱㅗㅏㅇㅗㅣ"));
+        assertEquals("값", Syllable.compose("ㄱㅏㅂㅅ"));
+        assertEquals("ㄱ 가ㅏ", Syllable.compose("ㄱ ㄱㅏㅏ"));
+        assertEquals("ㅠㄴㅁㄱ", Syllable.compose("ㅠㄴㅁㄱ"));
+        assertEquals("Kim 민준", Syllable.compose("Kim ㅁㅣㄴㅈㅜㄴ"));
+    }
+
+    @Test
+    public void testComposeIntoBuffer() {
+        char[] out = new char[8];
+        int written = Syllable.compose("\u1100\u1161\u11A8x", out, 2);
+        assertEquals(2, written);
+        assertEquals("각x", new String(out, 2, written));
+    }
+
+    @Test
+    public void testConstructSyllable() {
+        Syllable syllable = new Syllable('한');
+        assertEquals('값', syllable.constructSyllable("\u1100", "ㅏ", "\u11B9"));
+        syllable = new Syllable('한');
+        assertEquals('가', syllable.constructSyllable("\u1100", "ㅏ", null));
+    }
+
+    @Test
+    public void testNormalize() {
+        for (char c = 0xFFA1; c <= 0xFFDC; c++) {
+            // Lone halfwidth jamo become the compatibility jamo with the same NFKC form
+            String normalized = Syllable.normalize(String.valueOf(c));
+            assertEquals(java.text.Normalizer.normalize(String.valueOf(c), java.text.Normalizer.Form.NFKC),
+                         java.text.Normalizer.normalize(normalized, java.text.Normalizer.Form.NFKC));
+        }
+        String text = "ㅠㄱ 한국";
+        assertTrue(text == Syllable.normalize(text));
+        assertEquals("ㅠㄱ 한국", Syllable.normalize("ㅠㄱ \u1112\u1161\u11AB\u1100\u116E\u11A8"));
+        assertEquals("한ㅏ", Syllable.normalize("\uFFBE\uFFC2\uFFA4ㅏ"));
+        assertEquals("국ㄱ", Syllable.normalize("구\u11A8ㄱ"));
+    }
+}
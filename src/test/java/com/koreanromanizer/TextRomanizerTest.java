@@ -0,0 +1,74 @@
+package com.koreanromanizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for memoized romanization of running text.
+ */
+public class TextRomanizerTest {
+
+    @Test
+    public void testRunningText() {
+        String text = "한국어 공부를 합니다. 한국어 책을 읽어요, 한국어!";
+        assertEquals(KoreanRomanizer.romanize(text), new TextRomanizer().romanize(text));
+    }
+
+    @Test
+    public void testShortTextUsesDictionary() {
+        assertEquals(KoreanRomanizer.romanize("김"), new TextRomanizer().romanize("김"));
+        assertEquals(KoreanRomanizer.romanizeName("민준"), new TextRomanizer().romanize("민준", true, true));
+    }
+
+    @Test
+    public void testMatchesWholeTextRomanization() {
+        Random random = new Random(11);
+        String words = "국 물 한 국어 닭 값 신라 읽어 좋아 김 ㄱ ㅠ a";
+        String delimiters = "  .,-\nᄀᄂᄋ";
+        TextRomanizer[] romanizers = new TextRomanizer[StandardScheme.values().length * 2];
+        for (int i = 0; i < romanizers.length; i++) {
+            romanizers[i] = new TextRomanizer(StandardScheme.values()[i / 2], i % 2 == 0 ? 0 : 8);
+        }
+        for (int n = 0; n < 3000; n++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                int k = random.nextInt(4);
+                if (k == 0) {
+                    sb.append((char) (0xAC00 + random.nextInt(11172)));
+                } else if (k == 1) {
+                    sb.append(delimiters.charAt(random.nextInt(delimiters.length())));
+                } else {
+                    sb.append(words.charAt(random.nextInt(words.length())));
+                }
+            }
+            String text = sb.toString();
+            boolean addSpaces = random.nextBoolean();
+            boolean titleCase = random.nextBoolean();
+            for (int i = 0; i < romanizers.length; i++) {
+                RomanizationScheme scheme = StandardScheme.values()[i / 2];
+                assertEquals(new KoreanRomanizer(text, scheme).romanize(addSpaces, titleCase),
+                             romanizers[i].romanize(text, addSpaces, titleCase), text);
+            }
+        }
+    }
+
+    @Test
+    public void testConjoiningConsonantAfterRun() {
+        // The leftover choseong reads as an onset, so 않 keeps its n before it
+        String text = "않ᄀ 다다다다다다다다다다다다다";
+        assertEquals(KoreanRomanizer.romanize(text), new TextRomanizer().romanize(text));
+        assertEquals(KoreanRomanizer.romanize(text), new TextRomanizer(StandardScheme.REVISED_ROMANIZATION, 8).romanize(text));
+        String before = "다다다다다다다다다다다다ᄋ앉아";
+        assertEquals(KoreanRomanizer.romanize(before), new TextRomanizer().romanize(before));
+    }
+
+    @Test
+    public void testNegativeCacheSize() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new TextRomanizer(StandardScheme.REVISED_ROMANIZATION, -1));
+    }
+}